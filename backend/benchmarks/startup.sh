@@ -0,0 +1,75 @@
+#!/usr/bin/env bash
+# Time from launching the JVM to the first successful request, per startup mode.
+#
+#   mvn -Pfast-startup verify            # jar, AOT classes and the CDS archive
+#   benchmarks/startup.sh [mode ...]     # default: all modes
+#
+# Modes:
+#   jar      java -jar on the repackaged jar
+#   unpacked the extracted jar in target/application, nothing else
+#   aot      unpacked + Spring AOT initializers
+#   aot-cds  unpacked + Spring AOT + the CDS archive from the training run
+#
+# Needs the same environment as a normal start (MONGODB_URI, TMDB_API_KEY, NETZKINO_ENV,
+# OAUTH_GITHUB_ID, OAUTH_GITHUB_SECRET). RUNS (default 5), PORT (default 8080) and URL
+# (default /api/movies) can be overridden; the median of the runs is reported.
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+RUNS=${RUNS:-5}
+PORT=${PORT:-8080}
+URL=${URL:-/api/movies}
+JAVA=${JAVA_HOME:+$JAVA_HOME/bin/}java
+JAR=$(ls target/backend-*.jar | grep -v original | head -n 1)
+APP_DIR=target/application
+APP_JAR=$APP_DIR/$(basename "$JAR")
+
+command_for() {
+  case "$1" in
+    jar)      echo "$JAVA -jar $JAR" ;;
+    unpacked) echo "$JAVA -jar $APP_JAR" ;;
+    aot)      echo "$JAVA -Dspring.aot.enabled=true -jar $APP_JAR" ;;
+    aot-cds)  echo "$JAVA -XX:SharedArchiveFile=$APP_DIR/application.jsa -Dspring.aot.enabled=true -jar $APP_JAR" ;;
+    *)        echo "unknown mode $1" >&2; exit 1 ;;
+  esac
+}
+
+now_ms() {
+  date +%s%3N
+}
+
+# one start: launch, poll until the first 200, stop; prints the milliseconds it took
+time_to_first_request() {
+  local started pid
+  started=$(now_ms)
+  $1 --server.port="$PORT" > "target/startup-$2.log" 2>&1 &
+  pid=$!
+  until [ "$(curl -s -o /dev/null -w '%{http_code}' "http://localhost:$PORT$URL")" = "200" ]; do
+    if ! kill -0 "$pid" 2> /dev/null; then
+      echo "mode $2 did not start, see target/startup-$2.log" >&2
+      exit 1
+    fi
+    sleep 0.05
+  done
+  echo $(( $(now_ms) - started ))
+  kill "$pid"
+  wait "$pid" 2> /dev/null || true
+}
+
+median() {
+  sort -n | awk '{ v[NR] = $1 } END { print (NR % 2) ? v[(NR + 1) / 2] : int((v[NR / 2] + v[NR / 2 + 1]) / 2) }'
+}
+
+modes=("$@")
+[ ${#modes[@]} -gt 0 ] || modes=(jar unpacked aot aot-cds)
+
+printf '%-10s %10s   %s\n' mode median-ms runs-ms
+for mode in "${modes[@]}"; do
+  command=$(command_for "$mode")
+  times=()
+  for _ in $(seq "$RUNS"); do
+    times+=("$(time_to_first_request "$command" "$mode")")
+  done
+  printf '%-10s %10s   %s\n' "$mode" "$(printf '%s\n' "${times[@]}" | median)" "${times[*]}"
+done
@@ -9,8 +9,12 @@ import org.springframework.context.annotation.Configuration;
 @Configuration
 @EnableCaching
 public class CacheConfig {
+
+    // movies by slug
+    public static final String MOVIES = "movies";
+
     @Bean
     public CacheManager cacheManager() {
-        return new ConcurrentMapCacheManager("movies");
+        return new ConcurrentMapCacheManager(MOVIES);
     }
 }
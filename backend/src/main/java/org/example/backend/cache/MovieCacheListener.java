@@ -0,0 +1,50 @@
+package org.example.backend.cache;
+
+import org.bson.Document;
+import org.example.backend.model.Movie;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.mongodb.core.mapping.event.AbstractMongoEventListener;
+import org.springframework.data.mongodb.core.mapping.event.AfterDeleteEvent;
+import org.springframework.data.mongodb.core.mapping.event.AfterSaveEvent;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps the slug-keyed "movies" cache consistent with every write to the movies collection,
+ * including the bulk saves done by the Netzkino import.
+ */
+@Component
+public class MovieCacheListener extends AbstractMongoEventListener<Movie> {
+
+    private final CacheManager cacheManager;
+
+    public MovieCacheListener(CacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    @Override
+    public void onAfterSave(AfterSaveEvent<Movie> event) {
+        Cache cache = moviesCache();
+        if (cache != null && event.getSource().slug() != null) {
+            cache.evict(event.getSource().slug());
+        }
+    }
+
+    @Override
+    public void onAfterDelete(AfterDeleteEvent<Movie> event) {
+        Cache cache = moviesCache();
+        if (cache == null) {
+            return;
+        }
+        Document filter = event.getDocument();
+        if (filter != null && filter.size() == 1 && filter.get("slug") instanceof String slug) {
+            cache.evict(slug);
+        } else {
+            cache.clear();
+        }
+    }
+
+    private Cache moviesCache() {
+        return cacheManager.getCache(CacheConfig.MOVIES);
+    }
+}
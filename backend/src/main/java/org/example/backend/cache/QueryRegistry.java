@@ -0,0 +1,170 @@
+package org.example.backend.cache;
+
+import org.example.backend.model.Query;
+import org.example.backend.repo.QueryRepo;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory registry of every search query we have already sent upstream, with usage counts
+ * and last-used timestamps. Loaded once at startup (collapsing the duplicate documents older
+ * versions inserted on every fetch) and written through with an atomic upsert, so lookups
+ * never touch Mongo.
+ */
+@Component
+public class QueryRegistry implements InitializingBean, DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(QueryRegistry.class);
+
+    private final QueryRepo queryRepo;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Map<String, Usage> usages = new ConcurrentHashMap<>();
+
+    public QueryRegistry(QueryRepo queryRepo, ApplicationEventPublisher eventPublisher) {
+        this.queryRepo = queryRepo;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        List<String> duplicateIds = new ArrayList<>();
+        for (Query query : queryRepo.findAll()) {
+            if (query.query() == null) {
+                continue;
+            }
+            Usage existing = usages.get(query.query());
+            if (existing != null) {
+                // legacy duplicate: fold its counts into the first document we saw
+                existing.total.addAndGet(Math.max(1, query.useCount()));
+                existing.unflushed.addAndGet(Math.max(1, query.useCount()));
+                existing.touch(query.lastUsed());
+                duplicateIds.add(query.id());
+            } else {
+                Usage usage = new Usage(Math.max(1, query.useCount()), query.lastUsed());
+                if (query.useCount() == 0) {
+                    // written before usage was tracked: it was used at least once
+                    usage.unflushed.set(1);
+                }
+                usages.put(query.query(), usage);
+            }
+        }
+
+        if (!duplicateIds.isEmpty()) {
+            queryRepo.deleteAllById(duplicateIds);
+            logger.info("Removed {} duplicate query documents", duplicateIds.size());
+        }
+        flush();
+        try {
+            queryRepo.ensureUniqueQueryIndex();
+        } catch (RuntimeException e) {
+            logger.warn("Could not create unique index on queries.query: {}", e.getMessage());
+        }
+        logger.info("Query registry loaded with {} queries", usages.size());
+    }
+
+    public boolean contains(String query) {
+        return query != null && usages.containsKey(query);
+    }
+
+    public Set<String> queries() {
+        return Collections.unmodifiableSet(usages.keySet());
+    }
+
+    public Optional<QueryUsage> usage(String query) {
+        return Optional.ofNullable(query == null ? null : usages.get(query))
+                .map(usage -> new QueryUsage(query, usage.total.get(), usage.lastUsed));
+    }
+
+    /**
+     * Records a query that was sent upstream and persists its usage right away.
+     */
+    public void recordUse(String query) {
+        if (query == null || query.isBlank()) {
+            return;
+        }
+        boolean[] added = {false};
+        Usage usage = usages.computeIfAbsent(query, q -> {
+            added[0] = true;
+            return new Usage(0, null);
+        });
+        usage.record();
+        persist(query, usage);
+        if (added[0]) {
+            eventPublisher.publishEvent(new QueryRegisteredEvent(query));
+        }
+    }
+
+    /**
+     * Counts a query answered from cache. Only kept in memory; written with the next upstream
+     * use of the query or on shutdown.
+     */
+    public void recordHit(String query) {
+        Usage usage = query == null ? null : usages.get(query);
+        if (usage != null) {
+            usage.record();
+        }
+    }
+
+    public void flush() {
+        usages.forEach(this::persist);
+    }
+
+    @Override
+    public void destroy() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            logger.warn("Could not flush query usage on shutdown: {}", e.getMessage());
+        }
+    }
+
+    private void persist(String query, Usage usage) {
+        long delta = usage.unflushed.getAndSet(0);
+        if (delta > 0) {
+            try {
+                queryRepo.recordUse(query, delta, usage.lastUsed);
+            } catch (RuntimeException e) {
+                usage.unflushed.addAndGet(delta);
+                throw e;
+            }
+        }
+    }
+
+    public record QueryUsage(String query, long useCount, Instant lastUsed) {
+    }
+
+    public record QueryRegisteredEvent(String query) {
+    }
+
+    private static final class Usage {
+        private final AtomicLong total;
+        private final AtomicLong unflushed = new AtomicLong();
+        private volatile Instant lastUsed;
+
+        private Usage(long total, Instant lastUsed) {
+            this.total = new AtomicLong(total);
+            this.lastUsed = lastUsed;
+        }
+
+        private void record() {
+            total.incrementAndGet();
+            unflushed.incrementAndGet();
+            touch(Instant.now());
+        }
+
+        private synchronized void touch(Instant usedAt) {
+            if (usedAt != null && (lastUsed == null || usedAt.isAfter(lastUsed))) {
+                lastUsed = usedAt;
+            }
+        }
+    }
+}
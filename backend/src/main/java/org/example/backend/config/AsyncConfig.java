@@ -0,0 +1,48 @@
+package org.example.backend.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.support.ContextPropagatingTaskDecorator;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+public class AsyncConfig {
+
+    // both pools carry the submitting thread's observation along, so spans of their tasks stay
+    // children of the request that started them
+
+    public static final String SEARCH_STREAM_EXECUTOR = "searchStreamExecutor";
+    public static final String DAILY_ENRICHMENT_EXECUTOR = "dailyEnrichmentExecutor";
+
+    // runs streamed searches after the request thread has been released; the queue is short on
+    // purpose, since each task holds an open connection and makes upstream calls
+    @Bean(name = SEARCH_STREAM_EXECUTOR)
+    public ThreadPoolTaskExecutor searchStreamExecutor(@Value("${movies.search.stream.threads:8}") int threads,
+                                                       @Value("${movies.search.stream.queue:16}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("search-stream-");
+        executor.setTaskDecorator(new ContextPropagatingTaskDecorator());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+
+    // TMDB lookups of one wave of the daily selection; a full pool makes the caller enrich the post itself
+    @Bean(name = DAILY_ENRICHMENT_EXECUTOR)
+    public ThreadPoolTaskExecutor dailyEnrichmentExecutor(@Value("${movies.daily.enrichment-threads:5}") int threads) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(0);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setThreadNamePrefix("daily-enrich-");
+        executor.setTaskDecorator(new ContextPropagatingTaskDecorator());
+        return executor;
+    }
+}
@@ -1,5 +1,10 @@
 package org.example.backend.config;
 
+import org.example.backend.deadline.DeadlineRequestFactory;
+import org.example.backend.jfr.UpstreamCallRecorder;
+import org.example.backend.replay.RecordReplayInterceptor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.client.RestTemplate;
@@ -19,9 +24,16 @@ public class CorsConfig implements WebMvcConfigurer {
                 .allowCredentials(true); // Allow cookies if needed
     }
 
+    // built through Boot's builder so every upstream call is observed as http.client.requests;
+    // slices without the web client auto-configuration (e.g. @WebMvcTest) get a plain builder
     @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    public RestTemplate restTemplate(ObjectProvider<RestTemplateBuilder> builder,
+                                     ObjectProvider<RecordReplayInterceptor> recordReplay) {
+        RestTemplateBuilder restTemplate = builder.getIfAvailable(RestTemplateBuilder::new)
+                .requestFactory(DeadlineRequestFactory::new)
+                .additionalInterceptors(new UpstreamCallRecorder());
+        RecordReplayInterceptor replay = recordReplay.getIfAvailable();
+        return (replay == null ? restTemplate : restTemplate.additionalInterceptors(replay)).build();
     }
 
 }
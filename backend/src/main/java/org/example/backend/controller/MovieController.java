@@ -1,21 +1,30 @@
 package org.example.backend.controller;
 
-import io.github.bucket4j.Bandwidth;
-import io.github.bucket4j.Bucket;
-import io.github.bucket4j.Bucket4j;
-import io.github.bucket4j.Refill;
+import org.example.backend.config.AsyncConfig;
+import org.example.backend.deadline.Deadline;
+import org.example.backend.deadline.RequestDeadlines;
+import org.example.backend.exceptions.ServiceOverloadedException;
 import org.example.backend.model.Movie;
+import org.example.backend.search.SuggestionTrie;
 import org.example.backend.service.MovieAPIService;
+import org.example.backend.service.MovieResults;
 import org.example.backend.service.MovieService;
+import org.example.backend.service.SearchStream;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
-import java.time.Duration;
+import java.io.IOException;
 import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 
 
 @RestController
@@ -25,20 +34,18 @@ public class MovieController {
     private static final Logger logger = LoggerFactory.getLogger(MovieController.class);
     private final MovieService movieService;
     private final MovieAPIService movieAPIService;
+    private final SuggestionTrie suggestionTrie;
+    private final Executor searchStreamExecutor;
+    private final RequestDeadlines requestDeadlines;
 
-    // bucket for API rate limiting
-    private final Bucket searchBucket = Bucket4j.builder()
-            .addLimit(
-                    Bandwidth.classic(
-                            2, // capacity of 2 tokens
-                            Refill.intervally(1, Duration.ofSeconds(6))
-                    )
-            )
-            .build();
-
-    public MovieController(MovieService movieService, MovieAPIService movieAPIService) {
+    public MovieController(MovieService movieService, MovieAPIService movieAPIService, SuggestionTrie suggestionTrie,
+                           @Qualifier(AsyncConfig.SEARCH_STREAM_EXECUTOR) Executor searchStreamExecutor,
+                           RequestDeadlines requestDeadlines) {
         this.movieService = movieService;
         this.movieAPIService = movieAPIService;
+        this.suggestionTrie = suggestionTrie;
+        this.searchStreamExecutor = searchStreamExecutor;
+        this.requestDeadlines = requestDeadlines;
     }
 
     @GetMapping
@@ -82,29 +89,100 @@ public class MovieController {
     
 
     @GetMapping("/daily")
-    public ResponseEntity<List<Movie>> getDailyMovies() {
-        System.out.println("Received request for daily movies");
+    public ResponseEntity<List<Movie>> getDailyMovies(
+            @RequestHeader(name = RequestDeadlines.TIMEOUT_HEADER, required = false) String timeout) {
         try {
-            List<Movie> movies = movieAPIService.getMoviesOfTheDay(null); // Pass null to allow service to handle default
-            System.out.println("Successfully retrieved " + movies.size() + " daily movies");
-            return ResponseEntity.ok(movies);
+            MovieResults results = movieAPIService.getMoviesOfTheDay(null, requestDeadlines.forDaily(timeout)); // Pass null to allow service to handle default
+            logger.debug("Retrieved {} daily movies", results.movies().size());
+            return withPartialHeader(results);
+        } catch (ServiceOverloadedException e) {
+            // shed by admission control: answered with 503 and Retry-After
+            throw e;
         } catch (Exception e) {
-            System.out.println("Error fetching daily movies: " + e.getMessage());
+            logger.warn("Error fetching daily movies: {}", e.getMessage());
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body(List.of());  // Return empty list instead of throwing exception
         }
     }
 
+    // rate limited per client and admission controlled inside the service, and only when the search has to go upstream
     @GetMapping("/search")
-    public ResponseEntity<List<Movie>> searchMovies(@RequestParam(required = false) String query) {
-        // Try to consume one token. If no token is available, rate limit by returning 429.
-        if (!searchBucket.tryConsume(1)) {
-            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).build();
+    public ResponseEntity<List<Movie>> searchMovies(@RequestParam(required = false) String query,
+                                                    @RequestHeader(name = RequestDeadlines.TIMEOUT_HEADER, required = false) String timeout) {
+        logger.debug("Controller received search request for query: {}", query);
+        MovieResults results = movieAPIService.searchMovies(query, requestDeadlines.forSearch(timeout));
+        return withPartialHeader(results);
+    }
+
+    // a partial answer is marked, and must not be kept by caches in between
+    private static ResponseEntity<List<Movie>> withPartialHeader(MovieResults results) {
+        if (!results.partial()) {
+            return ResponseEntity.ok(results.movies());
         }
+        return ResponseEntity.ok()
+                .header(RequestDeadlines.PARTIAL_HEADER, "true")
+                .cacheControl(CacheControl.noStore())
+                .body(results.movies());
+    }
+
+    // same search as above, but sends a "movie" event per result as soon as it is ready and a
+    // final "complete" event with the totals
+    @GetMapping(path = "/search/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamSearch(@RequestParam(required = false) String query,
+                                   @RequestHeader(name = RequestDeadlines.TIMEOUT_HEADER, required = false) String timeout) {
+        // validation and rate limiting happen here, so they still answer with 400/429
+        Deadline deadline = requestDeadlines.forSearch(timeout);
+        SearchStream stream = movieAPIService.openSearchStream(query, deadline);
+        SseEmitter emitter = new SseEmitter(0L);
+        try {
+            searchStreamExecutor.execute(() -> runSearchStream(stream, emitter));
+        } catch (RejectedExecutionException e) {
+            // turned away before any upstream call, so the client keeps its token
+            stream.discard();
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Too many searches in progress.");
+        }
+        return emitter;
+    }
+
+    private void runSearchStream(SearchStream stream, SseEmitter emitter) {
+        long start = System.nanoTime();
+        boolean[] connected = {true};
+        try {
+            SearchStream.Result result = stream.run(movie -> {
+                // keep going when the client has left: the results are still stored and cached
+                if (connected[0]) {
+                    connected[0] = send(emitter, SseEmitter.event().name("movie").id(movie.slug()).data(movie));
+                }
+            });
+            if (connected[0]) {
+                SearchCompleted completed = new SearchCompleted(result.movies().size(), result.skipped(),
+                        result.upstream(), result.partial(), (System.nanoTime() - start) / 1_000_000);
+                send(emitter, SseEmitter.event().name("complete").data(completed));
+            }
+            emitter.complete();
+        } catch (RuntimeException e) {
+            logger.warn("Streamed search failed: {}", e.getMessage());
+            emitter.completeWithError(e);
+        }
+    }
+
+    private static boolean send(SseEmitter emitter, SseEmitter.SseEventBuilder event) {
+        try {
+            emitter.send(event);
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            return false;
+        }
+    }
+
+    record SearchCompleted(int total, int skipped, boolean upstream, boolean partial, long elapsedMs) {
+    }
 
-        logger.info("Controller received search request for query: {}", query);
-        List<Movie> movies = movieAPIService.fetchMoviesBySearchQuery(query);
-        return ResponseEntity.ok(movies);
+    // type-ahead: answered from memory only, so it neither consumes search tokens nor calls upstream
+    @GetMapping("/suggest")
+    public List<String> suggest(@RequestParam(required = false) String prefix,
+                                @RequestParam(defaultValue = "10") int limit) {
+        return suggestionTrie.suggest(prefix, limit);
     }
 }
 
@@ -5,23 +5,21 @@ import org.example.backend.exceptions.UnauthorizedException;
 import org.example.backend.exceptions.UserNotFoundException;
 import org.example.backend.model.User;
 import org.example.backend.repo.UserRepo;
-import org.springframework.http.HttpStatus;
+import org.example.backend.service.UserService;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.oauth2.core.user.OAuth2User;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
-
 @RestController
 @RequestMapping("/api/users")
 public class UserController {
 
     private final UserRepo userRepo;
+    private final UserService userService;
 
-    public UserController(UserRepo userRepo) {
+    public UserController(UserRepo userRepo, UserService userService) {
         this.userRepo = userRepo;
+        this.userService = userService;
     }
 
     @GetMapping(value = "active", produces = "text/plain")
@@ -35,11 +33,8 @@ public class UserController {
         return userId;
     }
 
-
-    private static final Map<String, Object> userLocks = new ConcurrentHashMap<>();
-
     @PostMapping("save/{userId}")
-    public synchronized String saveActiveUser(@PathVariable String userId) {
+    public String saveActiveUser(@PathVariable String userId) {
         Object principal = SecurityContextHolder.getContext().getAuthentication().getPrincipal();
         String userName = null;
 
@@ -60,22 +55,8 @@ public class UserController {
             throw new AuthException("Unauthorized: User ID mismatch!");
         }
 
-        userLocks.putIfAbsent(userId, new Object());
-        synchronized (userLocks.get(userId)) {
-            try {
-                String finalUserName = userName;
-                return userRepo.findByGithubId(userId)
-                        .map(existingUser -> {
-                            return userId; // User already exists
-                        })
-                        .orElseGet(() -> {
-                            userRepo.save(new User(null, userId, finalUserName, List.of()));
-                            return userId;
-                        });
-            } finally {
-                userLocks.remove(userId); // Clean up lock object to prevent memory leaks
-            }
-        }
+        // single atomic upsert, no locking needed
+        return userService.register(userId, userName);
     }
 
     @GetMapping("active/{userId}")
@@ -1,10 +1,12 @@
 package org.example.backend.controller;
 
+import org.example.backend.service.MovieService;
 import org.example.backend.service.WatchlistService;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 
 @RestController
@@ -12,15 +14,33 @@ import java.util.Map;
 public class WatchlistController {
 
     private final WatchlistService watchlistService;
+    private final MovieService movieService;
 
-    public WatchlistController(WatchlistService watchlistService) {
+    public WatchlistController(WatchlistService watchlistService, MovieService movieService) {
         this.watchlistService = watchlistService;
+        this.movieService = movieService;
+    }
+
+    // ✅ Check a whole grid of movies: ?slugs=a,b,c returns {"a": true, "b": false, ...}
+    @GetMapping(value = "/{githubId}", params = "slugs")
+    public ResponseEntity<Map<String, Boolean>> areMoviesInWatchlist(@PathVariable String githubId, @RequestParam List<String> slugs) {
+        return ResponseEntity.ok(watchlistService.areMoviesInWatchlist(githubId, slugs));
+    }
+
+    // ✅ Whole watchlist in one request: full movies, or only card fields with view=summary
+    @GetMapping("/{githubId}")
+    public ResponseEntity<List<?>> getWatchlist(@PathVariable String githubId,
+                                                @RequestParam(defaultValue = "full") String view) {
+        List<String> slugs = watchlistService.getWatchlistSlugs(githubId);
+        if ("summary".equals(view)) {
+            return ResponseEntity.ok(movieService.getMovieSummariesBySlugs(slugs));
+        }
+        return ResponseEntity.ok(movieService.getMoviesBySlugs(slugs));
     }
 
     // ✅ Check if a movie is in the watchlist
     @GetMapping("/{githubId}/{movieSlug}")
     public ResponseEntity<Map<String, Boolean>> isMovieInWatchlist(@PathVariable String githubId, @PathVariable String movieSlug) {
-        System.out.println("Received request to check watchlist for user " + githubId);
         boolean isInWatchlist = watchlistService.isMovieInWatchlist(githubId, movieSlug);
         return ResponseEntity.ok(Collections.singletonMap("inWatchlist", isInWatchlist));
     }
@@ -28,7 +48,6 @@ public class WatchlistController {
     // ✅ Add to watchlist
     @PostMapping("/{githubId}/{movieSlug}")
     public ResponseEntity<String> addToWatchlist(@PathVariable String githubId, @PathVariable String movieSlug) {
-        System.out.println("Received request to add movie to watchlist for user " + githubId);
         watchlistService.addToWatchlist(githubId, movieSlug);
         return ResponseEntity.ok("Movie added to watchlist.");
     }
@@ -36,7 +55,6 @@ public class WatchlistController {
     // ✅ Remove from watchlist
     @DeleteMapping("/{githubId}/{movieSlug}")
     public ResponseEntity<String> removeFromWatchlist(@PathVariable String githubId, @PathVariable String movieSlug) {
-        System.out.println("Received request to remove movie from watchlist for user " + githubId);
         watchlistService.removeFromWatchlist(githubId, movieSlug);
         return ResponseEntity.ok("Movie removed from watchlist.");
     }
@@ -0,0 +1,71 @@
+package org.example.backend.deadline;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Time budget of one request, carried through the search and daily pipelines. Upstream calls
+ * made inside {@link #call(Supplier)} only get the time that is left, see
+ * {@link DeadlineRequestFactory}.
+ */
+public final class Deadline {
+
+    private static final ThreadLocal<Deadline> CURRENT = new ThreadLocal<>();
+    private static final Deadline NONE = new Deadline(false, 0);
+
+    private final boolean bounded;
+    private final long expiresAtNanos;
+
+    private Deadline(boolean bounded, long expiresAtNanos) {
+        this.bounded = bounded;
+        this.expiresAtNanos = expiresAtNanos;
+    }
+
+    public static Deadline none() {
+        return NONE;
+    }
+
+    public static Deadline after(Duration budget) {
+        return new Deadline(true, System.nanoTime() + budget.toNanos());
+    }
+
+    public boolean isBounded() {
+        return bounded;
+    }
+
+    public boolean isExpired() {
+        return bounded && System.nanoTime() - expiresAtNanos >= 0;
+    }
+
+    /**
+     * Time left, never negative. Unbounded deadlines report {@link Long#MAX_VALUE} nanoseconds.
+     */
+    public Duration remaining() {
+        if (!bounded) {
+            return Duration.ofNanos(Long.MAX_VALUE);
+        }
+        return Duration.ofNanos(Math.max(0, expiresAtNanos - System.nanoTime()));
+    }
+
+    /**
+     * Runs an upstream call with this deadline bound to the current thread.
+     */
+    public <T> T call(Supplier<T> upstreamCall) {
+        Deadline previous = CURRENT.get();
+        CURRENT.set(this);
+        try {
+            return upstreamCall.get();
+        } finally {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+
+    static Optional<Deadline> current() {
+        return Optional.ofNullable(CURRENT.get()).filter(Deadline::isBounded);
+    }
+}
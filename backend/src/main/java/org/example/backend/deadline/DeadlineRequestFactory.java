@@ -0,0 +1,37 @@
+package org.example.backend.deadline;
+
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.net.SocketTimeoutException;
+import java.util.Optional;
+
+/**
+ * Request factory that caps connect and read timeouts at what is left of the calling request's
+ * {@link Deadline}. The read timeout applies per read, which for the small JSON answers of
+ * Netzkino and TMDB is close to a limit on the whole call.
+ */
+public class DeadlineRequestFactory extends SimpleClientHttpRequestFactory {
+
+    @Override
+    protected void prepareConnection(HttpURLConnection connection, String httpMethod) throws IOException {
+        super.prepareConnection(connection, httpMethod);
+        Optional<Deadline> deadline = Deadline.current();
+        if (deadline.isEmpty()) {
+            return;
+        }
+        long remainingMillis = deadline.get().remaining().toMillis();
+        if (remainingMillis <= 0) {
+            throw new SocketTimeoutException("Request deadline exceeded before calling " + connection.getURL().getHost());
+        }
+        int timeout = (int) Math.min(Integer.MAX_VALUE, remainingMillis);
+        connection.setConnectTimeout(cap(connection.getConnectTimeout(), timeout));
+        connection.setReadTimeout(cap(connection.getReadTimeout(), timeout));
+    }
+
+    // 0 means no timeout for HttpURLConnection
+    private static int cap(int configured, int remaining) {
+        return configured == 0 ? remaining : Math.min(configured, remaining);
+    }
+}
@@ -0,0 +1,55 @@
+package org.example.backend.deadline;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Per-endpoint time budgets. A client may ask for less with {@value #TIMEOUT_HEADER} (in
+ * milliseconds), never for more.
+ */
+@Component
+public class RequestDeadlines {
+
+    public static final String TIMEOUT_HEADER = "X-Request-Timeout";
+    public static final String PARTIAL_HEADER = "X-Partial-Result";
+
+    private final Duration searchBudget;
+    private final Duration dailyBudget;
+
+    public RequestDeadlines(@Value("${movies.deadline.search:10s}") Duration searchBudget,
+                            @Value("${movies.deadline.daily:20s}") Duration dailyBudget) {
+        this.searchBudget = searchBudget;
+        this.dailyBudget = dailyBudget;
+    }
+
+    public Deadline forSearch(String timeoutHeader) {
+        return resolve(searchBudget, timeoutHeader);
+    }
+
+    public Deadline forDaily(String timeoutHeader) {
+        return resolve(dailyBudget, timeoutHeader);
+    }
+
+    private static Deadline resolve(Duration budget, String timeoutHeader) {
+        Duration requested = parse(timeoutHeader);
+        if (requested != null && requested.compareTo(budget) < 0) {
+            budget = requested;
+        }
+        return budget.isZero() || budget.isNegative() ? Deadline.none() : Deadline.after(budget);
+    }
+
+    // malformed or non-positive values are ignored rather than rejected
+    private static Duration parse(String timeoutHeader) {
+        if (timeoutHeader == null || timeoutHeader.isBlank()) {
+            return null;
+        }
+        try {
+            long millis = Long.parseLong(timeoutHeader.trim());
+            return millis > 0 ? Duration.ofMillis(millis) : null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
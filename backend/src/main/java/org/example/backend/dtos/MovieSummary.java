@@ -0,0 +1,18 @@
+package org.example.backend.dtos;
+
+import org.example.backend.model.Movie;
+
+/**
+ * The fields a movie card needs. Used as a Mongo projection, so only these are read.
+ */
+public record MovieSummary(
+        String slug,
+        String title,
+        String year,
+        String imgNetzkinoSmall,
+        String imgImdb
+) {
+    public static MovieSummary of(Movie movie) {
+        return new MovieSummary(movie.slug(), movie.title(), movie.year(), movie.imgNetzkinoSmall(), movie.imgImdb());
+    }
+}
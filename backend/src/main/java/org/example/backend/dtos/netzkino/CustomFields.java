@@ -4,7 +4,6 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 
 import java.time.OffsetDateTime;
 import java.util.List;
-import java.util.Optional;
 
 public record CustomFields(
         List<String> Adaptives_Streaming,
@@ -49,17 +48,19 @@ public record CustomFields(
         List<String> offlineAvaiable
 ) {
         /**
-         * Helper method to get a value or a default value if the list is null or empty.
+         * Helper method to get a value or a default value if the list is null or empty. Called for
+         * every field of every post, so it does not allocate.
          *
          * @param list the list to retrieve the value from
-         * @param defaultValue the default value to return if the list is null or empty
+         * @param defaultValue the default value to return if the list is null, empty or starts with null
          * @return the first value of the list or the default value
          */
         public static String getOrDefault(List<String> list, String defaultValue) {
-                return Optional.ofNullable(list)
-                        .filter(l -> !l.isEmpty())
-                        .map(l -> l.get(0))
-                        .orElse(defaultValue);
+                if (list == null || list.isEmpty()) {
+                        return defaultValue;
+                }
+                String first = list.get(0);
+                return first != null ? first : defaultValue;
         }}
 
 
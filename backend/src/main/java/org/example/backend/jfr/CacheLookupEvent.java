@@ -0,0 +1,33 @@
+package org.example.backend.jfr;
+
+import jdk.jfr.*;
+
+@Name(CacheLookupEvent.NAME)
+@Label("Cache Lookup")
+@Description("Lookup in the in-memory search or daily movie cache")
+@Category({"MovieApp", "Cache"})
+@Enabled(false)
+@StackTrace(false)
+public class CacheLookupEvent extends Event {
+
+    public static final String NAME = "org.example.backend.CacheLookup";
+
+    @Label("Cache")
+    String cache;
+
+    @Label("Key")
+    String key;
+
+    @Label("Hit")
+    boolean hit;
+
+    public void end(String cache, Object key, boolean hit) {
+        end();
+        if (shouldCommit()) {
+            this.cache = cache;
+            this.key = String.valueOf(key);
+            this.hit = hit;
+            commit();
+        }
+    }
+}
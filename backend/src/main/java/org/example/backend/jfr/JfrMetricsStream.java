@@ -0,0 +1,71 @@
+package org.example.backend.jfr;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingStream;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Streams a few JFR events into metrics that Micrometer has no other source for:
+ * response sizes of upstream calls ({@code movies.upstream.response.size}) and threads
+ * blocked on a contended monitor for longer than {@code movies.jfr.contention-threshold}
+ * ({@code movies.jvm.monitor.blocked}, tagged with the monitor's class).
+ * <p>
+ * Off unless {@code movies.jfr.stream.enabled=true}: the stream keeps both events recorded for
+ * as long as the JVM runs, so every upstream call and every contended monitor past the
+ * threshold is written to the JFR buffers, not just checked with {@code isEnabled()}.
+ */
+@Component
+@ConditionalOnProperty(name = "movies.jfr.stream.enabled", havingValue = "true")
+public class JfrMetricsStream implements InitializingBean, DisposableBean {
+
+    static final String MONITOR_ENTER = "jdk.JavaMonitorEnter";
+
+    private final MeterRegistry meterRegistry;
+    private final Duration contentionThreshold;
+    private RecordingStream stream;
+
+    public JfrMetricsStream(MeterRegistry meterRegistry,
+                            @Value("${movies.jfr.contention-threshold:20ms}") Duration contentionThreshold) {
+        this.meterRegistry = meterRegistry;
+        this.contentionThreshold = contentionThreshold;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        stream = new RecordingStream();
+        stream.enable(UpstreamCallEvent.NAME);
+        stream.enable(MONITOR_ENTER).withThreshold(contentionThreshold).withoutStackTrace();
+        stream.onEvent(UpstreamCallEvent.NAME, this::onUpstreamCall);
+        stream.onEvent(MONITOR_ENTER, this::onMonitorEnter);
+        stream.startAsync();
+    }
+
+    void onUpstreamCall(RecordedEvent event) {
+        DistributionSummary.builder("movies.upstream.response.size")
+                .baseUnit("bytes")
+                .tag("upstream", String.valueOf(event.getString("upstream")))
+                .register(meterRegistry)
+                .record(event.getLong("bytes"));
+    }
+
+    void onMonitorEnter(RecordedEvent event) {
+        Timer.builder("movies.jvm.monitor.blocked")
+                .tag("monitor", event.getClass("monitorClass").getName())
+                .register(meterRegistry)
+                .record(event.getDuration());
+    }
+
+    @Override
+    public void destroy() {
+        stream.close();
+    }
+}
@@ -0,0 +1,82 @@
+package org.example.backend.jfr;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.boot.actuate.endpoint.web.annotation.WebEndpoint;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * {@code POST /actuator/jfr}: records the running JVM for a bounded time with one of the JDK's
+ * settings profiles ({@code default}, or {@code profile} for method sampling and allocation
+ * detail) plus the application's own events, and returns the {@code .jfr} file. One recording
+ * at a time; admins only (see {@code SecurityConfig}).
+ */
+@Component
+@WebEndpoint(id = "jfr")
+public class JfrRecordingEndpoint {
+
+    private static final Logger logger = LoggerFactory.getLogger(JfrRecordingEndpoint.class);
+
+    static final Duration DEFAULT_DURATION = Duration.ofSeconds(30);
+    static final List<String> APPLICATION_EVENTS = List.of(
+            UpstreamCallEvent.NAME, CacheLookupEvent.NAME, PostEnrichmentEvent.NAME, RepositoryCallEvent.NAME);
+
+    private final Duration maxDuration;
+    private final AtomicBoolean recording = new AtomicBoolean();
+
+    public JfrRecordingEndpoint(@Value("${movies.jfr.max-duration:5m}") Duration maxDuration) {
+        this.maxDuration = maxDuration;
+    }
+
+    @WriteOperation(produces = "application/octet-stream")
+    public WebEndpointResponse<Resource> record(@Nullable String profile, @Nullable Duration duration) throws IOException {
+        Duration length = duration == null ? DEFAULT_DURATION : duration;
+        if (length.isNegative() || length.isZero() || length.compareTo(maxDuration) > 0) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_BAD_REQUEST);
+        }
+        Configuration configuration;
+        try {
+            configuration = Configuration.getConfiguration(profile == null ? "default" : profile);
+        } catch (IOException | ParseException e) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_BAD_REQUEST);
+        }
+        if (!recording.compareAndSet(false, true)) {
+            return new WebEndpointResponse<>(409);
+        }
+
+        Path file = Files.createTempFile("movies-", ".jfr");
+        try (Recording jfr = new Recording(configuration)) {
+            jfr.setName("movies-on-demand");
+            APPLICATION_EVENTS.forEach(jfr::enable);
+            logger.info("Recording JFR with profile '{}' for {}", configuration.getName(), length);
+            jfr.start();
+            try {
+                Thread.sleep(length.toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            jfr.stop();
+            jfr.dump(file);
+            return new WebEndpointResponse<>(new ByteArrayResource(Files.readAllBytes(file)), WebEndpointResponse.STATUS_OK);
+        } finally {
+            Files.deleteIfExists(file);
+            recording.set(false);
+        }
+    }
+}
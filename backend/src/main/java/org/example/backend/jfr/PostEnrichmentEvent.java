@@ -0,0 +1,38 @@
+package org.example.backend.jfr;
+
+import jdk.jfr.*;
+
+@Name(PostEnrichmentEvent.NAME)
+@Label("Post Enrichment")
+@Description("Turning one Netzkino post into a movie, including its TMDB backdrop lookup")
+@Category({"MovieApp", "Enrichment"})
+@Enabled(false)
+@StackTrace(false)
+public class PostEnrichmentEvent extends Event {
+
+    public static final String NAME = "org.example.backend.PostEnrichment";
+
+    @Label("Pipeline")
+    String pipeline;
+
+    @Label("Slug")
+    String slug;
+
+    @Label("IMDb Id")
+    String imdbId;
+
+    @Label("Outcome")
+    @Description("enriched, deferred (backdrop fetched later) or skipped (no backdrop)")
+    String outcome;
+
+    public void end(String pipeline, String slug, String imdbId, String outcome) {
+        end();
+        if (shouldCommit()) {
+            this.pipeline = pipeline;
+            this.slug = slug;
+            this.imdbId = imdbId;
+            this.outcome = outcome;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package org.example.backend.jfr;
+
+import jdk.jfr.*;
+
+@Name(RepositoryCallEvent.NAME)
+@Label("Repository Call")
+@Description("Invocation of a Spring Data repository method")
+@Category({"MovieApp", "Repository"})
+@Enabled(false)
+@StackTrace(false)
+public class RepositoryCallEvent extends Event {
+
+    public static final String NAME = "org.example.backend.RepositoryCall";
+
+    @Label("Repository")
+    String repository;
+
+    @Label("Method")
+    String method;
+
+    @Label("Outcome")
+    String outcome;
+
+    public void end(String repository, String method, String outcome) {
+        end();
+        if (shouldCommit()) {
+            this.repository = repository;
+            this.method = method;
+            this.outcome = outcome;
+            commit();
+        }
+    }
+}
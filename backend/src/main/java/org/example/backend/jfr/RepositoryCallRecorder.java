@@ -0,0 +1,33 @@
+package org.example.backend.jfr;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+
+/**
+ * Emits a {@link RepositoryCallEvent} around every method of one repository proxy.
+ */
+class RepositoryCallRecorder implements MethodInterceptor {
+
+    private final String repository;
+
+    RepositoryCallRecorder(Class<?> repositoryInterface) {
+        this.repository = repositoryInterface.getSimpleName();
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        RepositoryCallEvent event = new RepositoryCallEvent();
+        if (!event.isEnabled()) {
+            return invocation.proceed();
+        }
+        event.begin();
+        String outcome = "error";
+        try {
+            Object result = invocation.proceed();
+            outcome = "success";
+            return result;
+        } finally {
+            event.end(repository, invocation.getMethod().getName(), outcome);
+        }
+    }
+}
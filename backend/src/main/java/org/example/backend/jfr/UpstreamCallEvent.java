@@ -0,0 +1,27 @@
+package org.example.backend.jfr;
+
+import jdk.jfr.*;
+
+@Name(UpstreamCallEvent.NAME)
+@Label("Upstream Call")
+@Description("HTTP call to Netzkino or TMDB, from sending the request until the response body is closed")
+@Category({"MovieApp", "Upstream"})
+@Enabled(false)
+@StackTrace(false)
+public class UpstreamCallEvent extends Event {
+
+    public static final String NAME = "org.example.backend.UpstreamCall";
+
+    @Label("Upstream")
+    String upstream;
+
+    @Label("Method")
+    String method;
+
+    @Label("Status")
+    int status;
+
+    @Label("Bytes")
+    @DataAmount
+    long bytes;
+}
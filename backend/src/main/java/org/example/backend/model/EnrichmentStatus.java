@@ -0,0 +1,10 @@
+package org.example.backend.model;
+
+/**
+ * Whether a movie still waits for its TMDB backdrop. Documents written before deferred
+ * enrichment have no status and count as {@link #DONE}.
+ */
+public enum EnrichmentStatus {
+    PENDING,
+    DONE
+}
@@ -20,5 +20,20 @@ public record Movie(
         String imgNetzkinoSmall,
         String imgImdb,
         List<String> queries,
-        List<LocalDate> dateFetched
-) {}
+        List<LocalDate> dateFetched,
+        String imdbId,
+        EnrichmentStatus enrichment
+) {
+
+    public Movie(String id, int netzkinoId, String slug, String title, String year, String overview,
+                 String regisseur, String stars, String imgNetzkino, String imgNetzkinoSmall, String imgImdb,
+                 List<String> queries, List<LocalDate> dateFetched) {
+        this(id, netzkinoId, slug, title, year, overview, regisseur, stars, imgNetzkino, imgNetzkinoSmall, imgImdb,
+                queries, dateFetched, null, EnrichmentStatus.DONE);
+    }
+
+    public Movie withBackdrop(String backdrop) {
+        return new Movie(id, netzkinoId, slug, title, year, overview, regisseur, stars, imgNetzkino, imgNetzkinoSmall,
+                backdrop, queries, dateFetched, imdbId, EnrichmentStatus.DONE);
+    }
+}
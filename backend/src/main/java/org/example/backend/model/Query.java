@@ -1,13 +1,23 @@
 package org.example.backend.model;
 
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
+import java.time.Instant;
+
 @Document(collection = "queries")
 public record Query(
-        String query
+        @Id String id,
+        @Indexed(unique = true) String query,
+        long useCount,
+        Instant lastUsed
 ) {
+    public Query(String query) {
+        this(null, query, 0, null);
+    }
+
     public Query withQuery(String query) {
-        return new Query(query);
+        return new Query(id, query, useCount, lastUsed);
     }
 }
-
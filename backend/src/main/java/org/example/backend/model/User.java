@@ -1,6 +1,7 @@
 package org.example.backend.model;
 
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.util.List;
@@ -8,7 +9,7 @@ import java.util.List;
 @Document(collection = "users")
 public record User(
         @Id String id,
-        String githubId,
+        @Indexed(unique = true) String githubId,
         String username,
         List<String> favorites
 ) {}
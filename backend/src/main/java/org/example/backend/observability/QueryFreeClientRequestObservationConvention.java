@@ -0,0 +1,31 @@
+package org.example.backend.observability;
+
+import io.micrometer.common.KeyValue;
+import org.springframework.http.client.observation.ClientRequestObservationContext;
+import org.springframework.http.client.observation.DefaultClientRequestObservationConvention;
+
+/**
+ * Boot's client observation convention without query strings. Netzkino and TMDB take their API
+ * keys and the user's search text as query parameters, and the default convention copies the
+ * request URL into the {@code http.url} span attribute (exported over OTLP and by the
+ * {@code trace-file} profile) and the URI template into the {@code uri} metric tag.
+ */
+public class QueryFreeClientRequestObservationConvention extends DefaultClientRequestObservationConvention {
+
+    @Override
+    protected KeyValue uri(ClientRequestObservationContext context) {
+        KeyValue uri = super.uri(context);
+        return KeyValue.of(uri.getKey(), withoutQuery(uri.getValue()));
+    }
+
+    @Override
+    protected KeyValue requestUri(ClientRequestObservationContext context) {
+        KeyValue url = super.requestUri(context);
+        return KeyValue.of(url.getKey(), withoutQuery(url.getValue()));
+    }
+
+    static String withoutQuery(String uri) {
+        int query = uri.indexOf('?');
+        return query < 0 ? uri : uri.substring(0, query);
+    }
+}
@@ -0,0 +1,40 @@
+package org.example.backend.observability;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.example.backend.cache.QueryRegistry;
+import org.example.backend.service.MovieAPIService;
+import org.springframework.stereotype.Component;
+
+/**
+ * Sizes of the in-memory caches that are not Spring caches (those are bound by Boot as
+ * {@code cache.*}): search results, daily selections and known queries.
+ */
+@Component
+public class SearchCacheMetrics implements MeterBinder {
+
+    private final MovieAPIService movieAPIService;
+    private final QueryRegistry queryRegistry;
+
+    public SearchCacheMetrics(MovieAPIService movieAPIService, QueryRegistry queryRegistry) {
+        this.movieAPIService = movieAPIService;
+        this.queryRegistry = queryRegistry;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("movies.cache.size", movieAPIService, MovieAPIService::searchCacheSize)
+                .tag("cache", "search")
+                .description("Entries in the in-memory result caches")
+                .register(registry);
+        Gauge.builder("movies.cache.size", movieAPIService, MovieAPIService::dailyCacheSize)
+                .tag("cache", "daily")
+                .description("Entries in the in-memory result caches")
+                .register(registry);
+        Gauge.builder("movies.cache.size", queryRegistry, queries -> queries.queries().size())
+                .tag("cache", "queries")
+                .description("Entries in the in-memory result caches")
+                .register(registry);
+    }
+}
@@ -0,0 +1,64 @@
+package org.example.backend.observability;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Times the stages of the import pipelines (cache lookup, Netzkino fetch, TMDB enrichment,
+ * persistence) as {@value #NAME} observations tagged with {@code pipeline}, {@code stage} and
+ * {@code outcome}. With the meter handler this gives a timer and an in-flight count per stage,
+ * with tracing a child span of the current request.
+ */
+@Component
+public class StageObserver {
+
+    public static final String NAME = "movies.stage";
+
+    private final ObservationRegistry observationRegistry;
+
+    public StageObserver(ObservationRegistry observationRegistry) {
+        this.observationRegistry = observationRegistry;
+    }
+
+    public <T> T observe(String pipeline, String stage, Supplier<T> work) {
+        return observe(pipeline, stage, work, result -> "success");
+    }
+
+    /**
+     * @param outcome names the outcome of a completed stage, e.g. {@code not_found} for a TMDB
+     *                lookup without backdrop; a thrown exception is tagged {@code error}
+     */
+    public <T> T observe(String pipeline, String stage, Supplier<T> work, Function<T, String> outcome) {
+        Observation observation = Observation.createNotStarted(NAME, observationRegistry)
+                .contextualName(pipeline + " " + stage)
+                .lowCardinalityKeyValue("pipeline", pipeline)
+                .lowCardinalityKeyValue("stage", stage)
+                .start();
+        try (Observation.Scope scope = observation.openScope()) {
+            T result = work.get();
+            observation.lowCardinalityKeyValue("outcome", outcome.apply(result));
+            return result;
+        } catch (RuntimeException e) {
+            observation.lowCardinalityKeyValue("outcome", "error");
+            observation.error(e);
+            throw e;
+        } finally {
+            observation.stop();
+        }
+    }
+
+    public static String hitOrMiss(Object cached) {
+        return cached == null ? "miss" : "hit";
+    }
+
+    public void observe(String pipeline, String stage, Runnable work) {
+        observe(pipeline, stage, () -> {
+            work.run();
+            return null;
+        });
+    }
+}
@@ -0,0 +1,41 @@
+package org.example.backend.observability;
+
+import io.micrometer.observation.ObservationRegistry;
+import io.opentelemetry.exporter.logging.otlp.OtlpJsonLoggingSpanExporter;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.mongodb.observability.ContextProviderFactory;
+import org.springframework.data.mongodb.observability.MongoObservationCommandListener;
+import org.springframework.http.client.observation.ClientRequestObservationConvention;
+
+/**
+ * Tracing beyond what Boot instruments on its own (server requests, {@code RestTemplate} calls,
+ * scheduled tasks): Mongo commands and an offline span exporter.
+ */
+@Configuration
+public class TracingConfig {
+
+    // every Mongo command becomes a child span of the observation that issued it
+    @Bean
+    public MongoClientSettingsBuilderCustomizer mongoObservation(ObservationRegistry observationRegistry) {
+        return settings -> settings
+                .contextProvider(ContextProviderFactory.create(observationRegistry))
+                .addCommandListener(new MongoObservationCommandListener(observationRegistry));
+    }
+
+    // picked up by Boot for every RestTemplate; keeps API keys out of spans and metric tags
+    @Bean
+    public ClientRequestObservationConvention clientRequestObservationConvention() {
+        return new QueryFreeClientRequestObservationConvention();
+    }
+
+    // routed to movies.tracing.file by logback-spring.xml
+    @Bean
+    @Profile("trace-file")
+    public SpanExporter fileSpanExporter() {
+        return OtlpJsonLoggingSpanExporter.create();
+    }
+}
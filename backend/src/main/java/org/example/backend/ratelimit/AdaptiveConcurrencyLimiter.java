@@ -0,0 +1,151 @@
+package org.example.backend.ratelimit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.example.backend.exceptions.ServiceOverloadedException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Admission control for requests that have to wait on Netzkino/TMDB. The number of such requests
+ * in flight is capped by a limit that follows upstream latency, gradient style: while a request
+ * takes about as long as the long-term average the limit creeps up, and when latency rises above
+ * it (or requests fail or hit their deadline) the limit shrinks. Requests over the limit are shed
+ * right away instead of queueing on a Tomcat thread.
+ * <p>
+ * Callers only ask for a permit once the cache and the local catalog could not answer, so cached
+ * reads are never shed.
+ */
+@Component
+public class AdaptiveConcurrencyLimiter {
+
+    // how far a sample may exceed the long-term latency before the limit starts to shrink
+    private static final double TOLERANCE = 1.5;
+    private static final double BACKOFF_RATIO = 0.9;
+    private static final int LONG_WINDOW = 100;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double smoothing;
+    private final Duration retryAfter;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Counter admitted;
+    private final Counter shed;
+
+    private volatile double limit;
+    private double longRttNanos;
+
+    public AdaptiveConcurrencyLimiter(MeterRegistry meterRegistry,
+                                      @Value("${movies.concurrency.initial-limit:10}") int initialLimit,
+                                      @Value("${movies.concurrency.min-limit:2}") int minLimit,
+                                      @Value("${movies.concurrency.max-limit:50}") int maxLimit,
+                                      @Value("${movies.concurrency.smoothing:0.2}") double smoothing,
+                                      @Value("${movies.concurrency.retry-after:2s}") Duration retryAfter) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.smoothing = smoothing;
+        this.retryAfter = retryAfter;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+        this.admitted = Counter.builder("movies.concurrency.requests")
+                .tag("outcome", "admitted")
+                .description("Upstream-bound requests checked against the concurrency limit")
+                .register(meterRegistry);
+        this.shed = Counter.builder("movies.concurrency.requests")
+                .tag("outcome", "shed")
+                .description("Upstream-bound requests checked against the concurrency limit")
+                .register(meterRegistry);
+        Gauge.builder("movies.concurrency.limit", this, AdaptiveConcurrencyLimiter::getLimit)
+                .description("Current adaptive limit on upstream-bound requests in flight")
+                .register(meterRegistry);
+        Gauge.builder("movies.concurrency.inflight", inFlight, AtomicInteger::get)
+                .description("Upstream-bound requests in flight")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Admits one request or throws {@link ServiceOverloadedException}. The permit must be
+     * completed exactly once.
+     */
+    public Permit acquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= getLimit()) {
+                shed.increment();
+                throw new ServiceOverloadedException("Too many searches in progress, try again shortly.", retryAfter);
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                admitted.increment();
+                return new Permit(current + 1);
+            }
+        }
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    private synchronized void onSample(long rttNanos, int inFlightAtStart, boolean dropped) {
+        if (dropped) {
+            limit = Math.max(minLimit, limit * BACKOFF_RATIO);
+            return;
+        }
+        double rtt = Math.max(1, rttNanos);
+        longRttNanos = longRttNanos == 0 ? rtt : longRttNanos + (rtt - longRttNanos) / LONG_WINDOW;
+        // after a slow spell the long-term average lags behind; let it catch up so the limit can recover
+        if (longRttNanos / rtt > 2) {
+            longRttNanos *= 0.95;
+        }
+        // nothing learned about a higher limit while we are not using half of it
+        if (inFlightAtStart < limit / 2) {
+            return;
+        }
+        double gradient = Math.max(0.5, Math.min(1.0, TOLERANCE * longRttNanos / rtt));
+        // within tolerance: probe upwards by a little headroom; otherwise shrink with the gradient
+        double newLimit = gradient < 1.0 ? limit * gradient : limit + Math.sqrt(limit);
+        limit = Math.max(minLimit, Math.min(maxLimit, limit * (1 - smoothing) + newLimit * smoothing));
+    }
+
+    public final class Permit {
+
+        private final long startNanos = System.nanoTime();
+        private final int inFlightAtStart;
+        private final AtomicBoolean completed = new AtomicBoolean();
+
+        private Permit(int inFlightAtStart) {
+            this.inFlightAtStart = inFlightAtStart;
+        }
+
+        /** The upstream work finished in time; its latency feeds the limit. */
+        public void success() {
+            complete(false);
+        }
+
+        /** The upstream work failed or ran out of time; the limit backs off. */
+        public void dropped() {
+            complete(true);
+        }
+
+        /** Gives the slot back without a sample, for requests that never reached upstream. */
+        public void ignore() {
+            if (completed.compareAndSet(false, true)) {
+                inFlight.decrementAndGet();
+            }
+        }
+
+        private void complete(boolean dropped) {
+            if (completed.compareAndSet(false, true)) {
+                inFlight.decrementAndGet();
+                onSample(System.nanoTime() - startNanos, inFlightAtStart, dropped);
+            }
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package org.example.backend.ratelimit;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.Optional;
+
+/**
+ * Identifies who a request is charged to: the logged-in user, or the client address for
+ * anonymous requests. Empty outside of an HTTP request (startup, scheduled jobs).
+ * <p>
+ * The address is the one Tomcat resolves from {@code X-Forwarded-For}
+ * ({@code server.forward-headers-strategy=native}). The header is only trusted from proxies in
+ * {@code server.tomcat.remoteip.internal-proxies}. Without that, everyone behind the proxy shares
+ * one bucket.
+ */
+@Component
+public class ClientKeyResolver {
+
+    public Optional<String> currentClientKey() {
+        if (!(RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes)) {
+            return Optional.empty();
+        }
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.isAuthenticated()
+                && !"anonymousUser".equals(authentication.getName())) {
+            return Optional.of("user:" + authentication.getName());
+        }
+        HttpServletRequest request = attributes.getRequest();
+        return Optional.of("ip:" + request.getRemoteAddr());
+    }
+}
@@ -0,0 +1,73 @@
+package org.example.backend.ratelimit;
+
+import io.github.bucket4j.Bucket;
+
+import java.time.Duration;
+
+/**
+ * Hands out tokens of a shared (usually remote) bucket from a small local lease. A node takes up
+ * to {@code leaseSize} tokens at once and serves checks from memory until they are used up or the
+ * lease runs out, when unused tokens are given back. Tokens are always taken from the shared
+ * bucket before they are handed out, so the limit across all nodes holds; a lease only decides
+ * which node gets to spend them.
+ */
+public class LeasedBucket {
+
+    private final Bucket shared;
+    private final long leaseSize;
+    private final long leaseTtlNanos;
+
+    private long leased;
+    private long leaseExpiresAt;
+
+    public LeasedBucket(Bucket shared, long leaseSize, Duration leaseTtl) {
+        this.shared = shared;
+        this.leaseSize = Math.max(1, leaseSize);
+        this.leaseTtlNanos = leaseTtl.toNanos();
+    }
+
+    public synchronized boolean tryAcquire() {
+        long now = System.nanoTime();
+        if (leased > 0 && now - leaseExpiresAt < 0) {
+            leased--;
+            return true;
+        }
+        giveBack();
+        long granted = shared.tryConsumeAsMuchAsPossible(leaseSize);
+        if (granted == 0) {
+            return false;
+        }
+        leased = granted - 1;
+        leaseExpiresAt = now + leaseTtlNanos;
+        return true;
+    }
+
+    /**
+     * How long until the shared bucket has a token again. Only asked after a rejection.
+     */
+    public Duration timeUntilRefill() {
+        return Duration.ofNanos(shared.estimateAbilityToConsume(1).getNanosToWaitForRefill());
+    }
+
+    /**
+     * Gives back a token that was handed out but not spent.
+     */
+    public void refund() {
+        shared.addTokens(1);
+    }
+
+    public synchronized long leasedTokens() {
+        return leased;
+    }
+
+    public synchronized void release() {
+        giveBack();
+    }
+
+    private void giveBack() {
+        if (leased > 0) {
+            shared.addTokens(leased);
+            leased = 0;
+        }
+    }
+}
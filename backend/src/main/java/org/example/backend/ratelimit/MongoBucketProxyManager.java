@@ -0,0 +1,109 @@
+package org.example.backend.ratelimit;
+
+import io.github.bucket4j.distributed.proxy.ClientSideConfig;
+import io.github.bucket4j.distributed.proxy.generic.compare_and_swap.AbstractCompareAndSwapBasedProxyManager;
+import io.github.bucket4j.distributed.proxy.generic.compare_and_swap.AsyncCompareAndSwapOperation;
+import io.github.bucket4j.distributed.proxy.generic.compare_and_swap.CompareAndSwapOperation;
+import io.github.bucket4j.distributed.remote.RemoteBucketState;
+import org.bson.Document;
+import org.bson.types.Binary;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bucket4j proxy manager that keeps bucket state in a Mongo collection, one document per key.
+ * Every change is a compare-and-swap: {@code findAndModify} that only matches while the stored
+ * state is still the one the change was computed from. Bucket4j retries when another node wins.
+ * Documents carry an {@code expiresAt} for a TTL index, so idle buckets are removed once they
+ * would have refilled anyway.
+ */
+public class MongoBucketProxyManager extends AbstractCompareAndSwapBasedProxyManager<String> {
+
+    private static final String STATE = "state";
+    private static final String EXPIRES_AT = "expiresAt";
+
+    private final MongoTemplate mongoTemplate;
+    private final String collection;
+
+    public MongoBucketProxyManager(MongoTemplate mongoTemplate, String collection) {
+        super(ClientSideConfig.getDefault());
+        this.mongoTemplate = mongoTemplate;
+        this.collection = collection;
+    }
+
+    public void ensureExpiryIndex() {
+        mongoTemplate.indexOps(collection)
+                .ensureIndex(new Index().on(EXPIRES_AT, Sort.Direction.ASC).expire(Duration.ZERO));
+    }
+
+    @Override
+    protected CompareAndSwapOperation beginCompareAndSwapOperation(String key) {
+        return new CompareAndSwapOperation() {
+            @Override
+            public Optional<byte[]> getStateData() {
+                Document document = mongoTemplate.findById(key, Document.class, collection);
+                return Optional.ofNullable(document)
+                        .map(d -> d.get(STATE, Binary.class))
+                        .map(Binary::getData);
+            }
+
+            @Override
+            public boolean compareAndSwap(byte[] originalData, byte[] newData, RemoteBucketState newState) {
+                return swap(key, originalData, newData, newState);
+            }
+        };
+    }
+
+    private boolean swap(String key, byte[] originalData, byte[] newData, RemoteBucketState newState) {
+        Criteria criteria = Criteria.where("_id").is(key);
+        criteria = originalData == null
+                ? criteria.and(STATE).exists(false)
+                : criteria.and(STATE).is(new Binary(originalData));
+        long refillNanos = newState.calculateFullRefillingTime(TimeUnit.MILLISECONDS.toNanos(System.currentTimeMillis()));
+        Update update = new Update()
+                .set(STATE, new Binary(newData))
+                .set(EXPIRES_AT, Date.from(Instant.now().plusNanos(refillNanos)));
+        try {
+            Document swapped = mongoTemplate.findAndModify(new Query(criteria), update,
+                    FindAndModifyOptions.options().upsert(originalData == null).returnNew(true),
+                    Document.class, collection);
+            return swapped != null;
+        } catch (DuplicateKeyException e) {
+            // another node created the bucket first
+            return false;
+        }
+    }
+
+    @Override
+    protected AsyncCompareAndSwapOperation beginAsyncCompareAndSwapOperation(String key) {
+        throw new UnsupportedOperationException("Mongo rate limit buckets are synchronous only");
+    }
+
+    @Override
+    public void removeProxy(String key) {
+        mongoTemplate.remove(new Query(Criteria.where("_id").is(key)), collection);
+    }
+
+    @Override
+    protected CompletableFuture<Void> removeAsync(String key) {
+        return CompletableFuture.failedFuture(new UnsupportedOperationException("Mongo rate limit buckets are synchronous only"));
+    }
+
+    @Override
+    public boolean isAsyncModeSupported() {
+        return false;
+    }
+}
@@ -0,0 +1,57 @@
+package org.example.backend.ratelimit;
+
+import io.github.bucket4j.Bandwidth;
+import io.github.bucket4j.Bucket;
+import io.github.bucket4j.BucketConfiguration;
+import io.github.bucket4j.Refill;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * With {@code movies.ratelimit.distributed=true} bucket state is shared by all replicas through
+ * Mongo; otherwise every node keeps its own buckets in memory.
+ * <p>
+ * Lazy, like {@link UpstreamRateLimiter}: nothing here is needed before the first upstream
+ * search, so startup doesn't pay for it (or for the index on the bucket collection).
+ */
+@Configuration
+@Lazy
+public class RateLimitConfig {
+
+    static final String UPSTREAM_BUDGET_KEY = "upstream";
+
+    @Bean
+    @ConditionalOnProperty(name = "movies.ratelimit.distributed", havingValue = "true")
+    public MongoBucketProxyManager rateLimitProxyManager(MongoTemplate mongoTemplate,
+                                                         @Value("${movies.ratelimit.collection:rate_limit_buckets}") String collection) {
+        MongoBucketProxyManager proxyManager = new MongoBucketProxyManager(mongoTemplate, collection);
+        proxyManager.ensureExpiryIndex();
+        return proxyManager;
+    }
+
+    /**
+     * Budget for all upstream searches of the deployment together, whichever client they are for.
+     */
+    @Bean(destroyMethod = "release")
+    public LeasedBucket upstreamBudget(Optional<MongoBucketProxyManager> proxyManager,
+                                       @Value("${movies.ratelimit.global.capacity:60}") long capacity,
+                                       @Value("${movies.ratelimit.global.period:1m}") Duration period,
+                                       @Value("${movies.ratelimit.global.lease-size:5}") long leaseSize,
+                                       @Value("${movies.ratelimit.global.lease-ttl:2s}") Duration leaseTtl) {
+        BucketConfiguration configuration = BucketConfiguration.builder()
+                .addLimit(Bandwidth.classic(capacity, Refill.greedy(capacity, period)).withId("global"))
+                .build();
+        Bucket shared = proxyManager
+                .<Bucket>map(manager -> manager.builder().build(UPSTREAM_BUDGET_KEY, () -> configuration))
+                .orElseGet(() -> Bucket.builder().addLimit(configuration.getBandwidths()[0]).build());
+        // leasing only pays off when the bucket is remote
+        return new LeasedBucket(shared, proxyManager.isPresent() ? leaseSize : 1, leaseTtl);
+    }
+}
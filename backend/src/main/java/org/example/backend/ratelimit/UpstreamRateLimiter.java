@@ -0,0 +1,159 @@
+package org.example.backend.ratelimit;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.github.bucket4j.Bandwidth;
+import io.github.bucket4j.Bucket;
+import io.github.bucket4j.BucketConfiguration;
+import io.github.bucket4j.ConsumptionProbe;
+import io.github.bucket4j.Refill;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletResponse;
+import org.example.backend.exceptions.RateLimitExceededException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Per-client token buckets for work that goes to Netzkino/TMDB. Callers ask for a permit right
+ * before the upstream call, so anything answered from cache or the local catalog is free.
+ * <p>
+ * Each bucket has two limits: a small burst allowance that refills every few seconds for
+ * interactive use, and a larger sustained budget per period. Buckets live in a size-bounded map
+ * that drops clients after they have been idle for a while; it is striped by
+ * {@code concurrencyLevel}, so lookups for different clients rarely contend. In distributed mode
+ * the map only holds proxies and the state itself lives in Mongo.
+ * <p>
+ * On top of the per-client limits every permit also takes a token from the deployment-wide
+ * {@link LeasedBucket upstream budget}, which is what keeps us within the Netzkino/TMDB quotas
+ * however many replicas run.
+ * <p>
+ * Created on the first upstream search rather than at startup; it is injected as a lazy proxy.
+ */
+@Component
+@Lazy
+public class UpstreamRateLimiter {
+
+    public static final String REMAINING_HEADER = "X-RateLimit-Remaining";
+
+    private final ClientKeyResolver clientKeyResolver;
+    private final LeasedBucket upstreamBudget;
+    private final MongoBucketProxyManager proxyManager;
+    private final Cache<String, Bucket> buckets;
+    private final BucketConfiguration clientLimits;
+    private final Counter allowed;
+    private final Counter rejected;
+    private final Counter throttled;
+
+    public UpstreamRateLimiter(ClientKeyResolver clientKeyResolver, MeterRegistry meterRegistry,
+                               LeasedBucket upstreamBudget, Optional<MongoBucketProxyManager> proxyManager,
+                               @Value("${movies.ratelimit.burst-capacity:2}") long burstCapacity,
+                               @Value("${movies.ratelimit.burst-refill:6s}") Duration burstRefill,
+                               @Value("${movies.ratelimit.sustained-capacity:30}") long sustainedCapacity,
+                               @Value("${movies.ratelimit.sustained-period:1h}") Duration sustainedPeriod,
+                               @Value("${movies.ratelimit.max-clients:10000}") long maxClients,
+                               @Value("${movies.ratelimit.concurrency-level:16}") int concurrencyLevel) {
+        this.clientKeyResolver = clientKeyResolver;
+        this.upstreamBudget = upstreamBudget;
+        this.proxyManager = proxyManager.orElse(null);
+        this.clientLimits = BucketConfiguration.builder()
+                .addLimit(Bandwidth.classic(burstCapacity, Refill.intervally(1, burstRefill)).withId("burst"))
+                .addLimit(Bandwidth.classic(sustainedCapacity, Refill.greedy(sustainedCapacity, sustainedPeriod)).withId("sustained"))
+                .build();
+        // a bucket idle for a whole sustained period is full again, so dropping it then is free
+        this.buckets = CacheBuilder.newBuilder()
+                .maximumSize(maxClients)
+                .expireAfterAccess(sustainedPeriod.compareTo(burstRefill) > 0 ? sustainedPeriod : burstRefill)
+                .concurrencyLevel(concurrencyLevel)
+                .build();
+        this.allowed = Counter.builder("movies.ratelimit.requests")
+                .tag("outcome", "allowed")
+                .description("Upstream calls checked against the rate limits")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("movies.ratelimit.requests")
+                .tag("outcome", "rejected")
+                .description("Upstream calls checked against the rate limits")
+                .register(meterRegistry);
+        this.throttled = Counter.builder("movies.ratelimit.requests")
+                .tag("outcome", "throttled")
+                .description("Upstream calls checked against the rate limits")
+                .register(meterRegistry);
+        meterRegistry.gauge("movies.ratelimit.clients", buckets, Cache::size);
+    }
+
+    /**
+     * Takes one token for the current client or throws {@link RateLimitExceededException}.
+     * Outside of an HTTP request nothing is charged.
+     */
+    public void acquire() {
+        clientKeyResolver.currentClientKey().ifPresent(this::acquire);
+    }
+
+    public void acquire(String clientKey) {
+        Bucket bucket = bucketFor(clientKey);
+        ConsumptionProbe probe = bucket.tryConsumeAndReturnRemaining(1);
+        if (!probe.isConsumed()) {
+            rejected.increment();
+            throw tooManySearches(Duration.ofNanos(probe.getNanosToWaitForRefill()));
+        }
+        if (!upstreamBudget.tryAcquire()) {
+            // the client did nothing wrong, so it gets its token back
+            bucket.addTokens(1);
+            throttled.increment();
+            throw tooManySearches(upstreamBudget.timeUntilRefill());
+        }
+        allowed.increment();
+        reportRemaining(probe.getRemainingTokens());
+    }
+
+    /**
+     * Gives the current client back a token {@link #acquire()} took, for an upstream call that
+     * was never made.
+     */
+    public void refund() {
+        clientKeyResolver.currentClientKey().ifPresent(this::refund);
+    }
+
+    public void refund(String clientKey) {
+        bucketFor(clientKey).addTokens(1);
+        upstreamBudget.refund();
+    }
+
+    private Bucket bucketFor(String clientKey) {
+        try {
+            return buckets.get(clientKey, () -> newBucket(clientKey));
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private Bucket newBucket(String clientKey) {
+        if (proxyManager != null) {
+            return proxyManager.builder().build("client:" + clientKey, () -> clientLimits);
+        }
+        return Bucket.builder()
+                .addLimit(clientLimits.getBandwidths()[0])
+                .addLimit(clientLimits.getBandwidths()[1])
+                .build();
+    }
+
+    private static RateLimitExceededException tooManySearches(Duration retryAfter) {
+        return new RateLimitExceededException("Too many searches, try again in " + Math.max(1, retryAfter.toSeconds()) + "s.", retryAfter);
+    }
+
+    private static void reportRemaining(long remaining) {
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes) {
+            HttpServletResponse response = attributes.getResponse();
+            if (response != null && !response.isCommitted()) {
+                response.setHeader(REMAINING_HEADER, String.valueOf(remaining));
+            }
+        }
+    }
+}
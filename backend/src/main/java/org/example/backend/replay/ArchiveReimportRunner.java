@@ -0,0 +1,60 @@
+package org.example.backend.replay;
+
+import org.example.backend.service.MovieAPIService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * With {@code movies.replay.reimport=true} in replay mode, imports every search query found in the
+ * archive again at startup, so stored movies can be rebuilt after a change to how posts are
+ * turned into movies without calling Netzkino or TMDB.
+ */
+@Component
+@ConditionalOnProperty(name = "movies.replay.reimport", havingValue = "true")
+public class ArchiveReimportRunner implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(ArchiveReimportRunner.class);
+
+    private final ResponseArchive archive;
+    private final RecordReplayInterceptor recordReplay;
+    private final MovieAPIService movieAPIService;
+
+    public ArchiveReimportRunner(ResponseArchive archive, RecordReplayInterceptor recordReplay, MovieAPIService movieAPIService) {
+        this.archive = archive;
+        this.recordReplay = recordReplay;
+        this.movieAPIService = movieAPIService;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (recordReplay.mode() != ReplayMode.REPLAY) {
+            logger.warn("Re-import from the archive needs movies.replay.mode=replay, skipping");
+            return;
+        }
+        List<String> queries = recordedSearchQueries();
+        int movies = 0;
+        for (String query : queries) {
+            movies += movieAPIService.reimport(query).size();
+        }
+        logger.info("Re-imported {} movies for {} archived queries", movies, queries.size());
+    }
+
+    List<String> recordedSearchQueries() {
+        return archive.entries().stream()
+                .filter(entry -> entry.status() == 200)
+                .map(ResponseArchive.Entry::key)
+                .filter(key -> key.startsWith("GET ") && key.contains("/search?"))
+                .map(key -> UriComponentsBuilder.fromUriString(key.substring(4)).build().getQueryParams().getFirst("q"))
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+    }
+}
@@ -0,0 +1,121 @@
+package org.example.backend.replay;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Instant;
+
+/**
+ * Records upstream responses to a {@link ResponseArchive} or answers upstream calls from it,
+ * depending on the {@link ReplayMode}. Replayed responses take as long as the recorded ones,
+ * multiplied by the time scale ({@code 0} answers immediately).
+ */
+public class RecordReplayInterceptor implements ClientHttpRequestInterceptor {
+
+    private static final Logger logger = LoggerFactory.getLogger(RecordReplayInterceptor.class);
+
+    private final ReplayMode mode;
+    private final ResponseArchive archive;
+    private final double timeScale;
+
+    public RecordReplayInterceptor(ReplayMode mode, ResponseArchive archive, double timeScale) {
+        this.mode = mode;
+        this.archive = archive;
+        this.timeScale = timeScale;
+    }
+
+    public ReplayMode mode() {
+        return mode;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution) throws IOException {
+        return switch (mode) {
+            case PASSTHROUGH -> execution.execute(request, body);
+            case RECORD -> record(request, body, execution);
+            case REPLAY -> replay(request);
+        };
+    }
+
+    private ClientHttpResponse record(HttpRequest request, byte[] body, ClientHttpRequestExecution execution) throws IOException {
+        long began = System.nanoTime();
+        try (ClientHttpResponse response = execution.execute(request, body)) {
+            byte[] content = response.getBody().readAllBytes();
+            long elapsedMillis = (System.nanoTime() - began) / 1_000_000;
+            MediaType contentType = response.getHeaders().getContentType();
+            ResponseArchive.Entry entry = new ResponseArchive.Entry(archive.key(request.getMethod().name(), request.getURI()),
+                    response.getStatusCode().value(), contentType == null ? null : contentType.toString(),
+                    elapsedMillis, Instant.now(), content);
+            try {
+                archive.save(entry);
+            } catch (IOException e) {
+                logger.warn("Could not archive response for {}: {}", entry.key(), e.getMessage());
+            }
+            return new ArchivedResponse(entry);
+        }
+    }
+
+    private ClientHttpResponse replay(HttpRequest request) throws IOException {
+        String key = archive.key(request.getMethod().name(), request.getURI());
+        ResponseArchive.Entry entry = archive.find(key)
+                .orElseThrow(() -> new IOException("No recorded response for " + key));
+        long delayMillis = Math.round(entry.elapsedMillis() * timeScale);
+        if (delayMillis > 0) {
+            try {
+                Thread.sleep(delayMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while replaying " + key, e);
+            }
+        }
+        return new ArchivedResponse(entry);
+    }
+
+    private static final class ArchivedResponse implements ClientHttpResponse {
+
+        private final ResponseArchive.Entry entry;
+        private final HttpHeaders headers = new HttpHeaders();
+
+        private ArchivedResponse(ResponseArchive.Entry entry) {
+            this.entry = entry;
+            if (entry.contentType() != null) {
+                headers.setContentType(MediaType.parseMediaType(entry.contentType()));
+            }
+            headers.setContentLength(entry.body().length);
+        }
+
+        @Override
+        public HttpStatusCode getStatusCode() {
+            return HttpStatusCode.valueOf(entry.status());
+        }
+
+        @Override
+        public String getStatusText() {
+            return "";
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+
+        @Override
+        public InputStream getBody() {
+            return new ByteArrayInputStream(entry.body());
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
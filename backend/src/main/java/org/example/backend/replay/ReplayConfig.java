@@ -0,0 +1,25 @@
+package org.example.backend.replay;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Path;
+import java.util.Set;
+
+@Configuration
+public class ReplayConfig {
+
+    @Bean
+    public ResponseArchive responseArchive(@Value("${movies.replay.archive:upstream-archive}") Path directory,
+                                           @Value("${movies.replay.secret-params:api_key,d}") Set<String> secretParameters) {
+        return new ResponseArchive(directory, secretParameters);
+    }
+
+    @Bean
+    public RecordReplayInterceptor recordReplayInterceptor(ResponseArchive archive,
+                                                           @Value("${movies.replay.mode:passthrough}") ReplayMode mode,
+                                                           @Value("${movies.replay.time-scale:1.0}") double timeScale) {
+        return new RecordReplayInterceptor(mode, archive, timeScale);
+    }
+}
@@ -0,0 +1,10 @@
+package org.example.backend.replay;
+
+public enum ReplayMode {
+    /** Upstream calls go out unchanged. */
+    PASSTHROUGH,
+    /** Upstream calls go out and their responses are written to the archive. */
+    RECORD,
+    /** Responses come from the archive only; nothing goes out. */
+    REPLAY
+}
@@ -0,0 +1,112 @@
+package org.example.backend.replay;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Upstream responses on disk, one gzip-compressed JSON file per request. Requests are keyed by
+ * method and normalized URL: lower-case host, sorted query parameters, and the parameters that
+ * carry secrets (API keys) removed, so an archive can be shared and matches requests made with
+ * any key.
+ */
+public class ResponseArchive {
+
+    private static final String EXTENSION = ".json.gz";
+
+    public record Entry(String key, int status, String contentType, long elapsedMillis, Instant recordedAt, byte[] body) {
+    }
+
+    private final Path directory;
+    private final Set<String> secretParameters;
+    private final ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+
+    public ResponseArchive(Path directory, Set<String> secretParameters) {
+        this.directory = directory;
+        this.secretParameters = Set.copyOf(secretParameters);
+    }
+
+    public String key(String method, URI uri) {
+        UriComponentsBuilder normalized = UriComponentsBuilder.newInstance()
+                .scheme(uri.getScheme())
+                .host(uri.getHost() == null ? null : uri.getHost().toLowerCase())
+                .port(uri.getPort())
+                .path(uri.getRawPath());
+        UriComponentsBuilder.fromUri(uri).build().getQueryParams().entrySet().stream()
+                .filter(parameter -> !secretParameters.contains(parameter.getKey()))
+                .sorted(Map.Entry.comparingByKey())
+                .forEach(parameter -> normalized.queryParam(parameter.getKey(), parameter.getValue().toArray()));
+        return method + " " + normalized.build().toUriString();
+    }
+
+    public Optional<Entry> find(String key) {
+        Path file = fileFor(key);
+        if (!Files.exists(file)) {
+            return Optional.empty();
+        }
+        return Optional.of(read(file));
+    }
+
+    public void save(Entry entry) throws IOException {
+        Files.createDirectories(directory);
+        Path file = fileFor(entry.key());
+        // written aside and moved, so a concurrent replay never reads half a file
+        Path partial = Files.createTempFile(directory, "entry", ".tmp");
+        try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(partial))) {
+            objectMapper.writeValue(out, entry);
+        }
+        Files.move(partial, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    public List<Entry> entries() {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.getFileName().toString().endsWith(EXTENSION))
+                    .sorted()
+                    .map(this::read)
+                    .toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Entry read(Path file) {
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(file))) {
+            return objectMapper.readValue(in, Entry.class);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unreadable archive entry " + file, e);
+        }
+    }
+
+    private Path fileFor(String key) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(key.getBytes(StandardCharsets.UTF_8));
+            return directory.resolve(HexFormat.of().formatHex(digest, 0, 16) + EXTENSION);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
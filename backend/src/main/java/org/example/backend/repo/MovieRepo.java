@@ -1,15 +1,18 @@
 package org.example.backend.repo;
 
+import org.example.backend.model.EnrichmentStatus;
 import org.example.backend.model.Movie;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface MovieRepo extends MongoRepository<Movie, String> {
+public interface MovieRepo extends MongoRepository<Movie, String>, MovieRepoCustom {
 
     boolean existsBySlug(String slug);
 
@@ -21,5 +24,10 @@ public interface MovieRepo extends MongoRepository<Movie, String> {
 
     Optional<List<Movie>> findByQueriesContaining(String query);
 
+    List<Movie> findBySlugIn(Collection<String> slugs);
+
+    <T> List<T> findBySlugIn(Collection<String> slugs, Class<T> type);
+
+    List<Movie> findByEnrichment(EnrichmentStatus enrichment, Pageable pageable);
 
 }
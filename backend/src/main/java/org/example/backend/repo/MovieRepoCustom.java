@@ -0,0 +1,10 @@
+package org.example.backend.repo;
+
+public interface MovieRepoCustom {
+
+    /**
+     * Indexes the movies still waiting for their TMDB backdrop. The index only holds those, so
+     * it stays small however large the catalog grows.
+     */
+    void ensurePendingEnrichmentIndex();
+}
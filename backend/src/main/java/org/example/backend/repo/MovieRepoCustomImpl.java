@@ -0,0 +1,25 @@
+package org.example.backend.repo;
+
+import org.example.backend.model.EnrichmentStatus;
+import org.example.backend.model.Movie;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.PartialIndexFilter;
+import org.springframework.data.mongodb.core.query.Criteria;
+
+public class MovieRepoCustomImpl implements MovieRepoCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    public MovieRepoCustomImpl(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public void ensurePendingEnrichmentIndex() {
+        mongoTemplate.indexOps(Movie.class)
+                .ensureIndex(new Index("enrichment", Sort.Direction.ASC)
+                        .partial(PartialIndexFilter.of(Criteria.where("enrichment").is(EnrichmentStatus.PENDING.name()))));
+    }
+}
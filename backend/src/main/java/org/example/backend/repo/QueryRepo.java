@@ -7,7 +7,7 @@ import org.springframework.stereotype.Repository;
 import java.util.Optional;
 
 @Repository
-public interface QueryRepo extends MongoRepository<Query, String> {
+public interface QueryRepo extends MongoRepository<Query, String>, QueryRepoCustom {
 
     boolean existsByQuery(String query);
 
@@ -15,4 +15,3 @@ public interface QueryRepo extends MongoRepository<Query, String> {
 
     Optional<Query> findByQuery(String query);
 }
-
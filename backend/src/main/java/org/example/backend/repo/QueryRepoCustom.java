@@ -0,0 +1,13 @@
+package org.example.backend.repo;
+
+import java.time.Instant;
+
+public interface QueryRepoCustom {
+
+    /**
+     * Atomically adds {@code uses} to the query's use count, creating the document if needed.
+     */
+    void recordUse(String query, long uses, Instant lastUsed);
+
+    void ensureUniqueQueryIndex();
+}
@@ -0,0 +1,33 @@
+package org.example.backend.repo;
+
+import org.example.backend.model.Query;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.Instant;
+
+public class QueryRepoCustomImpl implements QueryRepoCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    public QueryRepoCustomImpl(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public void recordUse(String query, long uses, Instant lastUsed) {
+        mongoTemplate.upsert(
+                org.springframework.data.mongodb.core.query.Query.query(Criteria.where("query").is(query)),
+                new Update().inc("useCount", uses).max("lastUsed", lastUsed),
+                Query.class);
+    }
+
+    @Override
+    public void ensureUniqueQueryIndex() {
+        mongoTemplate.indexOps(Query.class)
+                .ensureIndex(new Index("query", Sort.Direction.ASC).unique());
+    }
+}
@@ -2,9 +2,14 @@ package org.example.backend.repo;
 
 import org.example.backend.model.User;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
 
 import java.util.Optional;
 
-public interface UserRepo extends MongoRepository<User, String> {
+public interface UserRepo extends MongoRepository<User, String>, UserRepoCustom {
     Optional<User> findByGithubId(String githubId);
+
+    // only githubId and favorites are read; id and username stay null
+    @Query(value = "{ 'githubId': ?0 }", fields = "{ '_id': 0, 'githubId': 1, 'favorites': 1 }")
+    Optional<User> findFavoritesByGithubId(String githubId);
 }
@@ -0,0 +1,14 @@
+package org.example.backend.repo;
+
+public interface UserRepoCustom {
+
+    /**
+     * Creates the user in one atomic upsert unless a user with this GitHub id already exists.
+     * Existing users are left untouched.
+     *
+     * @return true if the user was created by this call
+     */
+    boolean registerIfAbsent(String githubId, String username);
+
+    void ensureUniqueGithubIdIndex();
+}
@@ -0,0 +1,43 @@
+package org.example.backend.repo;
+
+import com.mongodb.client.result.UpdateResult;
+import org.example.backend.model.User;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.List;
+
+public class UserRepoCustomImpl implements UserRepoCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    public UserRepoCustomImpl(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public boolean registerIfAbsent(String githubId, String username) {
+        Update update = new Update()
+                .setOnInsert("username", username)
+                .setOnInsert("favorites", List.of());
+        try {
+            UpdateResult result = mongoTemplate.upsert(
+                    Query.query(Criteria.where("githubId").is(githubId)), update, User.class);
+            return result.getUpsertedId() != null;
+        } catch (DuplicateKeyException e) {
+            // a concurrent upsert for the same githubId inserted first
+            return false;
+        }
+    }
+
+    @Override
+    public void ensureUniqueGithubIdIndex() {
+        mongoTemplate.indexOps(User.class)
+                .ensureIndex(new Index("githubId", Sort.Direction.ASC).unique());
+    }
+}
@@ -0,0 +1,68 @@
+package org.example.backend.search;
+
+import org.bson.Document;
+import org.example.backend.model.Movie;
+import org.example.backend.repo.MovieRepo;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.mapping.event.AbstractMongoEventListener;
+import org.springframework.data.mongodb.core.mapping.event.AfterDeleteEvent;
+import org.springframework.data.mongodb.core.mapping.event.AfterSaveEvent;
+import org.springframework.stereotype.Component;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Keeps {@link MovieSearchIndex} and the title side of {@link SuggestionTrie} in step with the
+ * movies collection: full load once the application is ready, then incremental updates from
+ * Mongo save/delete events.
+ */
+@Component
+public class CatalogIndexListener extends AbstractMongoEventListener<Movie> {
+
+    private static final Logger logger = LoggerFactory.getLogger(CatalogIndexListener.class);
+
+    private final MovieRepo movieRepo;
+    private final MovieSearchIndex searchIndex;
+    private final SuggestionTrie suggestionTrie;
+
+    public CatalogIndexListener(MovieRepo movieRepo, MovieSearchIndex searchIndex, SuggestionTrie suggestionTrie) {
+        this.movieRepo = movieRepo;
+        this.searchIndex = searchIndex;
+        this.suggestionTrie = suggestionTrie;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        List<Movie> movies = movieRepo.findAll();
+        searchIndex.replaceAll(movies);
+
+        Set<String> staleTitles = new HashSet<>(suggestionTrie.indexedSlugs());
+        movies.forEach(movie -> staleTitles.remove(movie.slug()));
+        staleTitles.forEach(suggestionTrie::removeMovie);
+        movies.forEach(suggestionTrie::addMovie);
+        logger.info("Catalog search index loaded with {} movies", searchIndex.size());
+    }
+
+    @Override
+    public void onAfterSave(AfterSaveEvent<Movie> event) {
+        searchIndex.index(event.getSource());
+        suggestionTrie.addMovie(event.getSource());
+    }
+
+    @Override
+    public void onAfterDelete(AfterDeleteEvent<Movie> event) {
+        Document filter = event.getDocument();
+        if (filter != null && filter.size() == 1 && filter.get("slug") instanceof String slug) {
+            searchIndex.remove(slug);
+            suggestionTrie.removeMovie(slug);
+        } else {
+            // deletes by id or by arbitrary criteria don't tell us which slugs went away
+            rebuild();
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package org.example.backend.search;
+
+import org.example.backend.model.Movie;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * In-process inverted index over the stored catalog (title, overview, regisseur, stars).
+ * Lets the search endpoint answer from movies we already have before calling Netzkino.
+ */
+@Component
+public class MovieSearchIndex {
+
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{Nd}]+");
+
+    // field weights: a hit in the title counts more than one buried in the overview
+    private static final float TITLE_WEIGHT = 3.0f;
+    private static final float PEOPLE_WEIGHT = 2.0f;
+    private static final float OVERVIEW_WEIGHT = 1.0f;
+
+    // BM25 term frequency saturation
+    private static final float K1 = 1.2f;
+
+    // how many corrections a misspelled query term may expand to
+    private static final int FUZZY_EXPANSIONS = 3;
+
+    // searches read whichever catalog is current; replaceAll swaps in a complete new one
+    private volatile Catalog catalog = new Catalog();
+
+    public synchronized void index(Movie movie) {
+        catalog.index(movie);
+    }
+
+    public synchronized void indexAll(Collection<Movie> movies) {
+        movies.forEach(catalog::index);
+    }
+
+    /**
+     * Replaces the whole catalog with {@code movies}. The new postings are built aside and swapped
+     * in at once, so a concurrent search sees either the old catalog or the new one, never an
+     * empty or half-built one.
+     */
+    public synchronized void replaceAll(Collection<Movie> movies) {
+        Catalog replacement = new Catalog();
+        movies.forEach(replacement::index);
+        catalog = replacement;
+    }
+
+    public synchronized void remove(String slug) {
+        if (slug != null) {
+            catalog.remove(slug);
+        }
+    }
+
+    public int size() {
+        return catalog.documents.size();
+    }
+
+    /**
+     * Returns the {@code limit} best matching movies for the query, highest score first.
+     * Every query term contributes BM25-style weighted term frequency times its idf.
+     */
+    public List<Movie> search(String query, int limit) {
+        return search(query, 0, limit);
+    }
+
+    /**
+     * Like {@link #search(String, int)}, but query terms that are not in the catalog are
+     * replaced by the closest catalog terms within {@code maxEdits}, e.g. "elja" by "elijah".
+     * Corrected terms score less the further they are from what was typed.
+     */
+    public List<Movie> search(String query, int maxEdits, int limit) {
+        Catalog current = catalog;
+        if (query == null || limit <= 0 || current.documents.isEmpty()) {
+            return List.of();
+        }
+
+        Map<String, Float> scores = new HashMap<>();
+        for (String token : tokenize(query)) {
+            if (maxEdits <= 0 || current.postings.containsKey(token)) {
+                score(current, token, 1.0f, scores);
+                continue;
+            }
+            for (TrigramIndex.Match match : current.vocabulary.lookup(token, TrigramIndex.editBudget(token, maxEdits), FUZZY_EXPANSIONS)) {
+                if (match.isPlausibleTypoOf(token)) {
+                    score(current, match.term(), 1.0f / (1 + match.distance()), scores);
+                }
+            }
+        }
+
+        return topK(current, scores, limit);
+    }
+
+    private static void score(Catalog catalog, String term, float factor, Map<String, Float> scores) {
+        Map<String, Float> docs = catalog.postings.get(term);
+        if (docs == null || docs.isEmpty()) {
+            return;
+        }
+        int totalDocs = catalog.documents.size();
+        double idf = Math.log(1 + (totalDocs - docs.size() + 0.5) / (docs.size() + 0.5));
+        docs.forEach((slug, tf) ->
+                scores.merge(slug, (float) (factor * idf * (tf * (K1 + 1)) / (tf + K1)), Float::sum));
+    }
+
+    private static List<Movie> topK(Catalog catalog, Map<String, Float> scores, int limit) {
+        PriorityQueue<Map.Entry<String, Float>> heap = new PriorityQueue<>(Map.Entry.comparingByValue());
+        for (Map.Entry<String, Float> entry : scores.entrySet()) {
+            if (heap.size() < limit) {
+                heap.offer(entry);
+            } else if (entry.getValue() > heap.peek().getValue()) {
+                heap.poll();
+                heap.offer(entry);
+            }
+        }
+
+        List<Movie> result = new ArrayList<>(heap.size());
+        while (!heap.isEmpty()) {
+            Movie movie = catalog.documents.get(heap.poll().getKey());
+            if (movie != null) {
+                result.add(movie);
+            }
+        }
+        Collections.reverse(result);
+        return result;
+    }
+
+    // one generation of the index; only changed under the MovieSearchIndex lock
+    private static final class Catalog {
+
+        private final Map<String, Movie> documents = new ConcurrentHashMap<>();
+        private final Map<String, Map<String, Float>> postings = new ConcurrentHashMap<>();
+        private final Map<String, Set<String>> termsBySlug = new ConcurrentHashMap<>();
+        private final TrigramIndex vocabulary = new TrigramIndex();
+
+        void index(Movie movie) {
+            if (movie == null || movie.slug() == null) {
+                return;
+            }
+            remove(movie.slug());
+
+            Map<String, Float> weightedTf = new HashMap<>();
+            addTokens(weightedTf, movie.title(), TITLE_WEIGHT);
+            addTokens(weightedTf, movie.regisseur(), PEOPLE_WEIGHT);
+            addTokens(weightedTf, movie.stars(), PEOPLE_WEIGHT);
+            addTokens(weightedTf, movie.overview(), OVERVIEW_WEIGHT);
+
+            weightedTf.forEach((term, tf) -> {
+                postings.computeIfAbsent(term, t -> new ConcurrentHashMap<>()).put(movie.slug(), tf);
+                vocabulary.add(term);
+            });
+            termsBySlug.put(movie.slug(), weightedTf.keySet());
+            documents.put(movie.slug(), movie);
+        }
+
+        void remove(String slug) {
+            Set<String> terms = termsBySlug.remove(slug);
+            if (terms != null) {
+                for (String term : terms) {
+                    Map<String, Float> docs = postings.get(term);
+                    vocabulary.remove(term);
+                    if (docs != null) {
+                        docs.remove(slug);
+                        if (docs.isEmpty()) {
+                            postings.remove(term);
+                        }
+                    }
+                }
+            }
+            documents.remove(slug);
+        }
+    }
+
+    private static void addTokens(Map<String, Float> weightedTf, String text, float weight) {
+        for (String token : tokenize(text)) {
+            weightedTf.merge(token, weight, Float::sum);
+        }
+    }
+
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        List<String> tokens = new ArrayList<>();
+        for (String token : TOKEN_SEPARATOR.split(text.toLowerCase(Locale.ROOT))) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+}
@@ -0,0 +1,31 @@
+package org.example.backend.search;
+
+import org.example.backend.cache.QueryRegistry;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Feeds past search queries from {@link QueryRegistry} into {@link SuggestionTrie}.
+ */
+@Component
+public class QueryIndexListener {
+
+    private final QueryRegistry queryRegistry;
+    private final SuggestionTrie suggestionTrie;
+
+    public QueryIndexListener(QueryRegistry queryRegistry, SuggestionTrie suggestionTrie) {
+        this.queryRegistry = queryRegistry;
+        this.suggestionTrie = suggestionTrie;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        queryRegistry.queries().forEach(suggestionTrie::addQuery);
+    }
+
+    @EventListener
+    public void onQueryRegistered(QueryRegistry.QueryRegisteredEvent event) {
+        suggestionTrie.addQuery(event.query());
+    }
+}
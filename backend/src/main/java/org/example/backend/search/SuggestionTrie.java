@@ -0,0 +1,248 @@
+package org.example.backend.search;
+
+import org.example.backend.model.Movie;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Compressed (radix) trie over movie titles and past search queries for type-ahead.
+ * Every title is also reachable from each of its words, so "knight" completes to
+ * "The Dark Knight". Nodes cache their best completions until a write touches their path,
+ * which keeps repeated lookups down to a walk over the prefix.
+ */
+@Component
+public class SuggestionTrie {
+
+    public static final int MAX_SUGGESTIONS = 20;
+
+    private static final int TITLE_WEIGHT = 2;
+    private static final int QUERY_WEIGHT = 1;
+
+    private final Node root = new Node("");
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, String> titlesBySlug = new ConcurrentHashMap<>();
+
+    public void addMovie(Movie movie) {
+        if (movie == null || movie.slug() == null || movie.title() == null || movie.title().isBlank()) {
+            return;
+        }
+        String title = movie.title().trim();
+        String previous = titlesBySlug.put(movie.slug(), title);
+        if (title.equals(previous)) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (previous != null) {
+                updateTitle(previous, -TITLE_WEIGHT);
+            }
+            updateTitle(title, TITLE_WEIGHT);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void removeMovie(String slug) {
+        String previous = slug == null ? null : titlesBySlug.remove(slug);
+        if (previous == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            updateTitle(previous, -TITLE_WEIGHT);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void addQuery(String query) {
+        if (query == null || query.isBlank()) {
+            return;
+        }
+        String display = query.trim().toLowerCase(Locale.ROOT);
+        lock.writeLock().lock();
+        try {
+            update(display, display, QUERY_WEIGHT);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public Set<String> indexedSlugs() {
+        return Collections.unmodifiableSet(titlesBySlug.keySet());
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            root.children.clear();
+            root.completions.clear();
+            root.cachedTop = null;
+            titlesBySlug.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns up to {@code limit} completions for the prefix, highest weight first.
+     */
+    public List<String> suggest(String prefix, int limit) {
+        String key = normalize(prefix);
+        if (key.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        int k = Math.min(limit, MAX_SUGGESTIONS);
+
+        lock.readLock().lock();
+        try {
+            Node node = find(key);
+            if (node == null) {
+                return List.of();
+            }
+            List<String> top = node.top();
+            return top.size() <= k ? top : top.subList(0, k);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void updateTitle(String title, int delta) {
+        String key = normalize(title);
+        int start = 0;
+        while (start < key.length()) {
+            update(key.substring(start), title, delta);
+            int nextSpace = key.indexOf(' ', start);
+            if (nextSpace < 0) {
+                break;
+            }
+            start = nextSpace + 1;
+        }
+    }
+
+    // caller holds the write lock
+    private void update(String key, String display, int delta) {
+        if (key.isEmpty()) {
+            return;
+        }
+        Node node = root;
+        int pos = 0;
+        node.cachedTop = null;
+        while (pos < key.length()) {
+            Node child = node.children.get(key.charAt(pos));
+            if (child == null) {
+                if (delta < 0) {
+                    return;
+                }
+                child = new Node(key.substring(pos));
+                node.children.put(key.charAt(pos), child);
+                node = child;
+                pos = key.length();
+                break;
+            }
+            int common = commonPrefixLength(child.label, key, pos);
+            if (common < child.label.length()) {
+                if (delta < 0) {
+                    return;
+                }
+                // split the edge at the point where the key diverges
+                Node middle = new Node(child.label.substring(0, common));
+                child.label = child.label.substring(common);
+                middle.children.put(child.label.charAt(0), child);
+                node.children.put(middle.label.charAt(0), middle);
+                child = middle;
+            }
+            node = child;
+            node.cachedTop = null;
+            pos += common;
+        }
+        node.cachedTop = null;
+        int updated = node.completions.merge(display, delta, Integer::sum);
+        if (updated <= 0) {
+            node.completions.remove(display);
+        }
+    }
+
+    // caller holds the read lock; a prefix may end in the middle of an edge
+    private Node find(String key) {
+        Node node = root;
+        int pos = 0;
+        while (pos < key.length()) {
+            Node child = node.children.get(key.charAt(pos));
+            if (child == null) {
+                return null;
+            }
+            int common = commonPrefixLength(child.label, key, pos);
+            if (pos + common == key.length()) {
+                return child;
+            }
+            if (common < child.label.length()) {
+                return null;
+            }
+            node = child;
+            pos += common;
+        }
+        return node;
+    }
+
+    private static int commonPrefixLength(String label, String key, int offset) {
+        int max = Math.min(label.length(), key.length() - offset);
+        int i = 0;
+        while (i < max && label.charAt(i) == key.charAt(offset + i)) {
+            i++;
+        }
+        return i;
+    }
+
+    private static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        return text.trim().toLowerCase(Locale.ROOT).replaceAll("\\s+", " ");
+    }
+
+    private static final class Node {
+        private String label;
+        private final Map<Character, Node> children = new HashMap<>();
+        private final Map<String, Integer> completions = new HashMap<>();
+        private volatile List<String> cachedTop;
+
+        private Node(String label) {
+            this.label = label;
+        }
+
+        private List<String> top() {
+            List<String> top = cachedTop;
+            if (top == null) {
+                top = computeTop();
+                cachedTop = top;
+            }
+            return top;
+        }
+
+        private List<String> computeTop() {
+            Map<String, Integer> weights = new HashMap<>();
+            Deque<Node> stack = new ArrayDeque<>();
+            stack.push(this);
+            while (!stack.isEmpty()) {
+                Node node = stack.pop();
+                node.completions.forEach((display, weight) -> weights.merge(display, weight, Math::max));
+                node.children.values().forEach(stack::push);
+            }
+
+            Comparator<Map.Entry<String, Integer>> ranking = Map.Entry.<String, Integer>comparingByValue()
+                    .reversed()
+                    .thenComparingInt(e -> e.getKey().length())
+                    .thenComparing(Map.Entry::getKey);
+            return weights.entrySet().stream()
+                    .sorted(ranking)
+                    .limit(MAX_SUGGESTIONS)
+                    .map(Map.Entry::getKey)
+                    .toList();
+        }
+    }
+}
@@ -0,0 +1,234 @@
+package org.example.backend.search;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Trigram index over a vocabulary of terms for typo-tolerant lookups.
+ * Candidates are pruned by length and shared-trigram count before the (banded) Levenshtein
+ * distance is verified, so only a handful of terms ever reach the edit-distance check.
+ * Postings are partitioned by term length, so a lookup never touches terms that are too
+ * short or too long to be within the edit budget.
+ */
+public class TrigramIndex {
+
+    private static final char PAD = '$';
+    static final int MIN_TYPO_LENGTH = 4;
+    static final int MIN_SUBSTITUTION_LENGTH = 5;
+
+    private final Map<String, Integer> termCounts = new HashMap<>();
+    private final Map<String, Set<String>> postings = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public void add(String term) {
+        if (term == null || term.isEmpty()) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (termCounts.merge(term, 1, Integer::sum) == 1) {
+                for (String gram : trigrams(term)) {
+                    postings.computeIfAbsent(postingKey(gram, term.length()), g -> new HashSet<>()).add(term);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(String term) {
+        if (term == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            Integer count = termCounts.get(term);
+            if (count == null) {
+                return;
+            }
+            if (count > 1) {
+                termCounts.put(term, count - 1);
+                return;
+            }
+            termCounts.remove(term);
+            for (String gram : trigrams(term)) {
+                String key = postingKey(gram, term.length());
+                Set<String> terms = postings.get(key);
+                if (terms != null) {
+                    terms.remove(term);
+                    if (terms.isEmpty()) {
+                        postings.remove(key);
+                    }
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean contains(String term) {
+        lock.readLock().lock();
+        try {
+            return termCounts.containsKey(term);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            termCounts.clear();
+            postings.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return termCounts.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns up to {@code limit} known terms within {@code maxEdits} of the given term,
+     * closest first and, on ties, the most frequent first.
+     */
+    public List<Match> lookup(String term, int maxEdits, int limit) {
+        if (term == null || term.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        List<String> grams = trigrams(term);
+        // every edit destroys at most three trigrams of the query
+        int minShared = Math.max(1, grams.size() - 3 * maxEdits);
+
+        lock.readLock().lock();
+        try {
+            Map<String, Integer> shared = new HashMap<>();
+            int minLength = Math.max(1, term.length() - maxEdits);
+            int maxLength = term.length() + maxEdits;
+            for (String gram : grams) {
+                for (int length = minLength; length <= maxLength; length++) {
+                    Set<String> terms = postings.get(postingKey(gram, length));
+                    if (terms != null) {
+                        for (String candidate : terms) {
+                            shared.merge(candidate, 1, Integer::sum);
+                        }
+                    }
+                }
+            }
+
+            List<Match> matches = new ArrayList<>();
+            for (Map.Entry<String, Integer> entry : shared.entrySet()) {
+                if (entry.getValue() < minShared) {
+                    continue;
+                }
+                int distance = boundedLevenshtein(term, entry.getKey(), maxEdits);
+                if (distance <= maxEdits) {
+                    matches.add(new Match(entry.getKey(), distance, termCounts.getOrDefault(entry.getKey(), 0)));
+                }
+            }
+            matches.sort(Comparator.comparingInt(Match::distance)
+                    .thenComparing(Comparator.comparingInt(Match::frequency).reversed())
+                    .thenComparing(Match::term));
+            return matches.size() <= limit ? matches : matches.subList(0, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Edit budget for a term of this length: none below four letters, where one edit already
+     * turns a name into another one ("ava", "eva").
+     */
+    public static int editBudget(String term, int maxEdits) {
+        if (term == null || term.length() < MIN_TYPO_LENGTH) {
+            return 0;
+        }
+        return maxEdits;
+    }
+
+    /**
+     * Levenshtein distance restricted to a diagonal band of width {@code max}.
+     * Returns {@code max + 1} as soon as the distance is known to exceed {@code max}.
+     */
+    static int boundedLevenshtein(String a, String b, int max) {
+        int n = a.length();
+        int m = b.length();
+        if (Math.abs(n - m) > max) {
+            return max + 1;
+        }
+        int[] previous = new int[m + 1];
+        int[] current = new int[m + 1];
+        for (int j = 0; j <= m; j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= n; i++) {
+            int from = Math.max(1, i - max);
+            int to = Math.min(m, i + max);
+            current[0] = i;
+            if (from > 1) {
+                current[from - 1] = max + 1;
+            }
+            int rowMin = current[0];
+            char ca = a.charAt(i - 1);
+            for (int j = from; j <= to; j++) {
+                int cost = ca == b.charAt(j - 1) ? 0 : 1;
+                int value = Math.min(Math.min(previous[j] + 1, current[j - 1] + 1), previous[j - 1] + cost);
+                current[j] = value;
+                rowMin = Math.min(rowMin, value);
+            }
+            if (to < m) {
+                current[to + 1] = max + 1;
+            }
+            if (rowMin > max) {
+                return max + 1;
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return Math.min(previous[m], max + 1);
+    }
+
+    private static String postingKey(String gram, int termLength) {
+        return gram + termLength;
+    }
+
+    static List<String> trigrams(String term) {
+        String padded = PAD + term + PAD;
+        List<String> grams = new ArrayList<>(Math.max(1, padded.length() - 2));
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            grams.add(padded.substring(i, i + 3));
+        }
+        if (grams.isEmpty()) {
+            grams.add(padded);
+        }
+        return grams;
+    }
+
+    public record Match(String term, int distance, int frequency) {
+
+        /**
+         * Dropped or doubled letters are accepted ("elja" for "elijah") as long as the shorter
+         * of the two has four letters, a single substituted letter only from five letters on.
+         * Below that an edit usually lands on another valid name ("mia" and "mila", "luna" and
+         * "luca"), and mixing substitutions with dropped letters turns "noah" into "nora".
+         */
+        public boolean isPlausibleTypoOf(String typed) {
+            if (distance == 0) {
+                return true;
+            }
+            int shorter = Math.min(term.length(), typed.length());
+            if (Math.abs(term.length() - typed.length()) == distance) {
+                return shorter >= MIN_TYPO_LENGTH;
+            }
+            return distance == 1 && shorter >= MIN_SUBSTITUTION_LENGTH;
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package org.example.backend.security;
+
+import com.google.common.base.Supplier;
+import com.google.common.base.Suppliers;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.oauth2.client.userinfo.DefaultOAuth2UserService;
+import org.springframework.security.oauth2.client.userinfo.OAuth2UserRequest;
+import org.springframework.security.oauth2.client.userinfo.OAuth2UserService;
+import org.springframework.security.oauth2.core.user.DefaultOAuth2User;
+import org.springframework.security.oauth2.core.user.OAuth2User;
+import org.springframework.security.oauth2.core.user.OAuth2UserAuthority;
+
+import java.util.*;
+
+/**
+ * Loads the GitHub user but keeps only the attributes we read (the id and the login). The
+ * principal ends up serialized into every stored session, and the full GitHub profile is
+ * several kilobytes twice over (as attributes and again inside {@link OAuth2UserAuthority}).
+ */
+public class CompactOAuth2UserService implements OAuth2UserService<OAuth2UserRequest, OAuth2User> {
+
+    static final List<String> KEPT_ATTRIBUTES = List.of("id", "login");
+
+    private final OAuth2UserService<OAuth2UserRequest, OAuth2User> delegate;
+
+    public CompactOAuth2UserService() {
+        // the default service builds its own RestTemplate and message converters, which nobody
+        // needs before the first login
+        this(lazyDefaultService());
+    }
+
+    CompactOAuth2UserService(OAuth2UserService<OAuth2UserRequest, OAuth2User> delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public OAuth2User loadUser(OAuth2UserRequest userRequest) {
+        OAuth2User user = delegate.loadUser(userRequest);
+        String nameAttributeKey = userRequest.getClientRegistration().getProviderDetails()
+                .getUserInfoEndpoint().getUserNameAttributeName();
+
+        Map<String, Object> attributes = new HashMap<>();
+        for (String key : KEPT_ATTRIBUTES) {
+            Object value = user.getAttribute(key);
+            if (value != null) {
+                attributes.put(key, value);
+            }
+        }
+        attributes.putIfAbsent(nameAttributeKey, user.getAttribute(nameAttributeKey));
+
+        Set<GrantedAuthority> authorities = new LinkedHashSet<>();
+        for (GrantedAuthority authority : user.getAuthorities()) {
+            authorities.add(authority instanceof OAuth2UserAuthority
+                    ? new OAuth2UserAuthority(authority.getAuthority(), attributes)
+                    : authority);
+        }
+        return new DefaultOAuth2User(authorities, attributes, nameAttributeKey);
+    }
+
+    private static OAuth2UserService<OAuth2UserRequest, OAuth2User> lazyDefaultService() {
+        Supplier<DefaultOAuth2UserService> service = Suppliers.memoize(DefaultOAuth2UserService::new);
+        return userRequest -> service.get().loadUser(userRequest);
+    }
+}
@@ -1,26 +1,80 @@
 package org.example.backend.security;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
+import org.springframework.security.authorization.AuthorizationDecision;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.oauth2.core.user.OAuth2User;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.context.NullSecurityContextRepository;
+import org.springframework.security.web.util.matcher.AndRequestMatcher;
 import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+import org.springframework.security.web.util.matcher.IpAddressMatcher;
+import org.springframework.security.web.util.matcher.NegatedRequestMatcher;
+import org.springframework.security.web.util.matcher.OrRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
 
-import static org.springframework.security.config.Customizer.withDefaults;
+import java.util.List;
+import java.util.Set;
 
 @Configuration
 @EnableWebSecurity
 public class SecurityConfig {
 
+    // public reads never look at or create a session, so they can be cached and sent to any node;
+    // search stays on the session chain because it is rate limited per logged-in user
+    static final RequestMatcher PUBLIC_READS = new OrRequestMatcher(
+            new AndRequestMatcher(
+                    new AntPathRequestMatcher("/api/movies/**", HttpMethod.GET.name()),
+                    new NegatedRequestMatcher(new AntPathRequestMatcher("/api/movies/search/**"))),
+            new AntPathRequestMatcher("/actuator/health/**", HttpMethod.GET.name()));
+
+    @Bean
+    @Order(1)
+    public SecurityFilterChain publicReadsFilterChain(HttpSecurity http) throws Exception {
+        http
+                .securityMatcher(PUBLIC_READS)
+                .csrf(csrf -> csrf.disable())
+                .authorizeHttpRequests(authorize -> authorize
+                        .anyRequest().permitAll()
+                )
+                .sessionManagement(sessions -> sessions.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                .securityContext(context -> context.securityContextRepository(new NullSecurityContextRepository()))
+                .requestCache(cache -> cache.disable());
+
+        return http.build();
+    }
+
+    // operational endpoints that can slow the JVM down, open to the GitHub logins in movies.admin.logins
+    static final RequestMatcher ADMIN_ONLY = new AntPathRequestMatcher("/actuator/jfr");
+
+    // metrics name every endpoint and upstream we call; only the scraper's networks (and admins) may read them
+    static final RequestMatcher METRICS = new OrRequestMatcher(
+            new AntPathRequestMatcher("/actuator/prometheus"),
+            new AntPathRequestMatcher("/actuator/metrics/**"));
+
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    @Order(2)
+    public SecurityFilterChain securityFilterChain(HttpSecurity http,
+                                                   @Value("${movies.admin.logins:}") Set<String> adminLogins,
+                                                   @Value("${movies.metrics.scrape-networks:127.0.0.1/32,::1/128}") List<String> scrapeNetworks) throws Exception {
+        List<IpAddressMatcher> scrapers = scrapeNetworks.stream().map(IpAddressMatcher::new).toList();
         http
 
                 .csrf(csrf -> csrf.disable())
                 .authorizeHttpRequests(authorize -> authorize
+                        .requestMatchers(ADMIN_ONLY).access((authentication, context) -> new AuthorizationDecision(
+                                isAdmin(authentication.get(), adminLogins)))
+                        .requestMatchers(METRICS).access((authentication, context) -> new AuthorizationDecision(
+                                scrapers.stream().anyMatch(scraper -> scraper.matches(context.getRequest()))
+                                        || isAdmin(authentication.get(), adminLogins)))
                         .anyRequest().permitAll()
                 )
 
@@ -30,13 +84,19 @@ public class SecurityConfig {
                         .logoutSuccessUrl("localhost:5173/") // Redirect to home after logout
                 )
 
+                // a session is only created once the OAuth login needs one
+                .sessionManagement(sessions -> sessions.sessionCreationPolicy(SessionCreationPolicy.IF_REQUIRED))
 
-                .sessionManagement(sessions -> sessions.sessionCreationPolicy(SessionCreationPolicy.ALWAYS))
-
-                .oauth2Login(withDefaults());
+                .oauth2Login(login -> login
+                        .userInfoEndpoint(userInfo -> userInfo.userService(new CompactOAuth2UserService()))
+                        .authorizedClientRepository(new NoOpAuthorizedClientRepository())
+                );
 
         return http.build();
     }
 
+    private static boolean isAdmin(Authentication authentication, Set<String> adminLogins) {
+        return authentication.getPrincipal() instanceof OAuth2User user
+                && adminLogins.contains(user.<String>getAttribute("login"));
+    }
 }
-
@@ -0,0 +1,87 @@
+package org.example.backend.service;
+
+import org.example.backend.model.EnrichmentStatus;
+import org.example.backend.model.Movie;
+import org.example.backend.observability.StageObserver;
+import org.example.backend.repo.MovieRepo;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClientException;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Fills in the TMDB backdrop of movies stored with {@link EnrichmentStatus#PENDING} when
+ * {@code movies.enrichment.deferred} is on. Movies TMDB has no backdrop for are deleted, the same
+ * movies the synchronous import skips.
+ */
+@Component
+@ConditionalOnProperty(name = "movies.enrichment.deferred", havingValue = "true")
+public class BackdropEnrichmentWorker implements InitializingBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(BackdropEnrichmentWorker.class);
+
+    private final MovieRepo movieRepo;
+    private final MovieAPIService movieAPIService;
+    private final StageObserver stageObserver;
+    private final int batchSize;
+
+    public BackdropEnrichmentWorker(MovieRepo movieRepo, MovieAPIService movieAPIService, StageObserver stageObserver,
+                                    @Value("${movies.enrichment.batch-size:20}") int batchSize) {
+        this.movieRepo = movieRepo;
+        this.movieAPIService = movieAPIService;
+        this.stageObserver = stageObserver;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        // without it every run scans the whole movies collection, also when nothing is pending
+        try {
+            movieRepo.ensurePendingEnrichmentIndex();
+        } catch (RuntimeException e) {
+            logger.warn("Could not create index on movies.enrichment: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Enriches one batch of pending movies and returns how many were finished. A failed TMDB
+     * request leaves the rest of the batch pending for the next run.
+     */
+    @Scheduled(fixedDelayString = "${movies.enrichment.interval:5s}")
+    public int enrichPending() {
+        List<Movie> pending = movieRepo.findByEnrichment(EnrichmentStatus.PENDING, PageRequest.of(0, batchSize));
+        int finished = 0;
+        for (Movie movie : pending) {
+            Optional<String> backdrop;
+            try {
+                backdrop = movie.imdbId() == null ? Optional.empty() : stageObserver.observe("enrichment", "tmdb",
+                        () -> movieAPIService.lookupBackdrop(movie.imdbId()),
+                        found -> found.isPresent() ? "found" : "not_found");
+            } catch (RestClientException e) {
+                logger.warn("TMDB lookup failed for {}, retrying later: {}", movie.slug(), e.getMessage());
+                break;
+            }
+            if (backdrop.isPresent()) {
+                Movie enriched = movie.withBackdrop(backdrop.get());
+                movieRepo.save(enriched);
+                movieAPIService.refreshCachedMovie(movie.slug(), enriched);
+            } else {
+                movieRepo.deleteBySlug(movie.slug());
+                movieAPIService.refreshCachedMovie(movie.slug(), null);
+            }
+            finished++;
+        }
+        if (finished > 0) {
+            logger.info("Enriched {} of {} pending movies", finished, pending.size());
+        }
+        return finished;
+    }
+}
@@ -1,42 +1,81 @@
 package org.example.backend.service;
 
+import org.example.backend.cache.QueryRegistry;
+import org.example.backend.config.AsyncConfig;
+import org.example.backend.deadline.Deadline;
 import org.example.backend.dtos.netzkino.CustomFields;
 import org.example.backend.dtos.netzkino.NetzkinoResponse;
 import org.example.backend.dtos.netzkino.Post;
 import org.example.backend.dtos.tmdb.TmdbMovieResult;
 import org.example.backend.dtos.tmdb.TmdbResponse;
 import org.example.backend.exceptions.InvalidSearchQueryException;
+import org.example.backend.jfr.CacheLookupEvent;
+import org.example.backend.jfr.PostEnrichmentEvent;
+import org.example.backend.model.EnrichmentStatus;
 import org.example.backend.model.Movie;
-import org.example.backend.model.Query;
+import org.example.backend.observability.StageObserver;
+import org.example.backend.ratelimit.AdaptiveConcurrencyLimiter;
+import org.example.backend.ratelimit.UpstreamRateLimiter;
 import org.example.backend.repo.MovieRepo;
-import org.example.backend.repo.QueryRepo;
+import org.example.backend.search.MovieSearchIndex;
+import org.example.backend.search.TrigramIndex;
 import org.example.backend.validation.SearchQueryValidator;
-import org.springframework.beans.factory.InitializingBean;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.event.EventListener;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 
 import java.security.SecureRandom;
 import java.util.*;
 import java.time.LocalDate;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 @Service
-public class MovieAPIService implements InitializingBean {
+public class MovieAPIService {
+
+    private static final Logger logger = LoggerFactory.getLogger(MovieAPIService.class);
 
     private final MovieRepo movieRepository;
     private final RestTemplate restTemplate;
-    private final QueryRepo queryRepository;
+    private final QueryRegistry queryRegistry;
+    private final MovieSearchIndex searchIndex;
+    private final UpstreamRateLimiter rateLimiter;
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+    private final StageObserver stageObserver;
+    private final Executor dailyEnrichmentExecutor;
     private final String tmdbApiKey;
     private final String netzkinoEnv;
-
-    private static final String TMDB_BASE_URL = "https://api.themoviedb.org/3/find/";
+    private final String netzkinoUrl;
+    private final String tmdbBaseUrl;
+    private final int localResultThreshold;
+    private final int localResultLimit;
+    private final int maxEdits;
+    private final boolean deferEnrichment;
+
+    public static final String TMDB_BASE_URL = "https://api.themoviedb.org/3/find/";
     private static final String TMDB_IMAGE_URL = "https://image.tmdb.org/t/p/original";
-    private static final String NETZKINO_URL = "https://api.netzkino.de.simplecache.net/capi-2.0a/search";
+    public static final String NETZKINO_URL = "https://api.netzkino.de.simplecache.net/capi-2.0a/search";
+    private static final int MOVIES_OF_THE_DAY = 5;
+    private static final String SEARCH_PIPELINE = "search";
+    private static final String DAILY_PIPELINE = "daily";
 
     private final Map<String, List<Movie>> searchCache = new ConcurrentHashMap<>();
+    // cached queries with a non-empty result, so a misspelled query can be rewritten to one of them
+    private final TrigramIndex knownQueries = new TrigramIndex();
     private final Map<LocalDate, List<Movie>> dailyCache = new ConcurrentHashMap<>();
 
 
@@ -311,86 +350,329 @@ public class MovieAPIService implements InitializingBean {
 
     private static final SecureRandom secureRandom = new SecureRandom();
 
-    public MovieAPIService(MovieRepo movieRepository, RestTemplate restTemplate, QueryRepo queryRepository, @Value("${TMDB_API_KEY}") String tmdbApiKey, @Value("${NETZKINO_ENV}") String netzkinoEnv) {
+    public MovieAPIService(MovieRepo movieRepository, RestTemplate restTemplate, QueryRegistry queryRegistry, MovieSearchIndex searchIndex,
+                           @Lazy UpstreamRateLimiter rateLimiter,
+                           AdaptiveConcurrencyLimiter concurrencyLimiter, StageObserver stageObserver,
+                           @Qualifier(AsyncConfig.DAILY_ENRICHMENT_EXECUTOR) Executor dailyEnrichmentExecutor,
+                           @Value("${TMDB_API_KEY}") String tmdbApiKey, @Value("${NETZKINO_ENV}") String netzkinoEnv,
+                           @Value("${movies.upstream.netzkino-url:" + NETZKINO_URL + "}") String netzkinoUrl,
+                           @Value("${movies.upstream.tmdb-url:" + TMDB_BASE_URL + "}") String tmdbBaseUrl,
+                           @Value("${movies.search.local-threshold:5}") int localResultThreshold,
+                           @Value("${movies.search.local-limit:50}") int localResultLimit,
+                           @Value("${movies.search.max-edits:2}") int maxEdits,
+                           @Value("${movies.enrichment.deferred:false}") boolean deferEnrichment) {
         this.movieRepository = movieRepository;
         this.restTemplate = restTemplate;
-        this.queryRepository = queryRepository;
+        this.queryRegistry = queryRegistry;
+        this.searchIndex = searchIndex;
+        this.rateLimiter = rateLimiter;
+        this.concurrencyLimiter = concurrencyLimiter;
+        this.stageObserver = stageObserver;
+        this.dailyEnrichmentExecutor = dailyEnrichmentExecutor;
         this.tmdbApiKey = tmdbApiKey;
         this.netzkinoEnv = netzkinoEnv;
+        this.netzkinoUrl = netzkinoUrl;
+        this.tmdbBaseUrl = tmdbBaseUrl;
+        this.localResultThreshold = localResultThreshold;
+        this.localResultLimit = localResultLimit;
+        this.maxEdits = maxEdits;
+        this.deferEnrichment = deferEnrichment;
     }
 
-    @Override
-    public void afterPropertiesSet() throws Exception {
-        // Preload all query-based movies into searchCache
-        queryRepository.findAll().forEach(q -> {
-            movieRepository.findByQueriesContaining(q.query())
-                    .ifPresent(list -> searchCache.put(q.query(), list));
+    /**
+     * Warms the search and daily caches from Mongo on a background thread once the application is
+     * ready, so startup doesn't wait for one query per known search. Requests that come in before
+     * it is done read through to Mongo as usual, and whatever they cache is kept.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void preloadCachesInBackground() {
+        Thread.ofPlatform().name("cache-preload").daemon().start(() -> {
+            try {
+                preloadCaches();
+            } catch (RuntimeException e) {
+                logger.warn("Could not preload caches, they fill on demand instead: {}", e.getMessage());
+            }
         });
+    }
+
+    void preloadCaches() {
+        queryRegistry.queries().forEach(q -> movieRepository.findByQueriesContaining(q)
+                .ifPresent(list -> {
+                    if (searchCache.putIfAbsent(q, list) == null && !list.isEmpty()) {
+                        knownQueries.add(q);
+                    }
+                }));
         LocalDate today = LocalDate.now();
         movieRepository
                 .findByDateFetchedContaining(today)
                 .filter(list -> !list.isEmpty())
-                .ifPresent(list -> dailyCache.put(today, list));
+                .ifPresent(list -> dailyCache.putIfAbsent(today, list));
+        logger.info("Preloaded {} cached searches", searchCache.size());
     }
 
 
     public List<Movie> fetchMoviesBySearchQuery(String searchQuery) {
+        return searchMovies(searchQuery, Deadline.none()).movies();
+    }
+
+    /**
+     * Searches within the given deadline. When it runs out, the movies enriched so far are
+     * returned as a partial result, which is neither cached nor stored for the query.
+     */
+    public MovieResults searchMovies(String searchQuery, Deadline deadline) {
+        validateSearchQuery(searchQuery);
+        Optional<List<Movie>> local = findWithoutUpstream(searchQuery);
+        if (local.isPresent()) {
+            return MovieResults.complete(local.get());
+        }
+        // 5) only now is the search admitted against the concurrency limit and charged a token
+        AdaptiveConcurrencyLimiter.Permit permit = concurrencyLimiter.acquire();
+        try {
+            rateLimiter.acquire();
+        } catch (RuntimeException e) {
+            permit.ignore();
+            throw e;
+        }
+        SearchStream.Result result;
+        try {
+            result = fetchAndStoreAllMovies(searchQuery, deadline, movie -> { }, () -> { });
+        } catch (RuntimeException e) {
+            permit.dropped();
+            throw e;
+        }
+        if (result.partial()) {
+            permit.dropped();
+        } else {
+            permit.success();
+            cacheSearchResult(searchQuery, result.movies());
+        }
+        return new MovieResults(result.movies(), result.partial());
+    }
+
+    public SearchStream openSearchStream(String searchQuery) {
+        return openSearchStream(searchQuery, Deadline.none());
+    }
+
+    /**
+     * Same lookup as {@link #searchMovies(String, Deadline)}, for streaming. Validation, the
+     * concurrency limit and the rate limit are checked right away, in the calling thread; the
+     * returned stream then does the upstream work and reports each movie as soon as it is enriched.
+     * The permit is completed when the stream has run, or given back by {@link SearchStream#discard()}.
+     */
+    public SearchStream openSearchStream(String searchQuery, Deadline deadline) {
         validateSearchQuery(searchQuery);
+        Optional<List<Movie>> local = findWithoutUpstream(searchQuery);
+        if (local.isPresent()) {
+            return SearchStream.of(local.get());
+        }
+        AdaptiveConcurrencyLimiter.Permit permit = concurrencyLimiter.acquire();
+        try {
+            rateLimiter.acquire();
+        } catch (RuntimeException e) {
+            permit.ignore();
+            throw e;
+        }
+        return new SearchStream() {
+            @Override
+            public SearchStream.Result run(Consumer<Movie> onMovie) {
+                SearchStream.Result result;
+                try {
+                    result = fetchAndStoreAllMovies(searchQuery, deadline, onMovie, () -> { });
+                } catch (RuntimeException e) {
+                    permit.dropped();
+                    throw e;
+                }
+                if (result.partial()) {
+                    permit.dropped();
+                } else {
+                    permit.success();
+                    cacheSearchResult(searchQuery, result.movies());
+                }
+                return result;
+            }
+
+            @Override
+            public void discard() {
+                permit.ignore();
+                rateLimiter.refund();
+            }
+        };
+    }
+
+    // steps 1-4 of a search: everything we can answer from memory or our own database
+    private Optional<List<Movie>> findWithoutUpstream(String searchQuery) {
         // 1) quick in-memory lookup
-        if (searchCache.containsKey(searchQuery)) {
-            return searchCache.get(searchQuery);
+        List<Movie> cached = lookUp(SEARCH_PIPELINE, searchCache, searchQuery);
+        if (cached != null) {
+            queryRegistry.recordHit(searchQuery);
+            return Optional.of(cached);
         }
         // 2) fallback to hitting DB (in case cache missed) or API
         List<Movie> existing = movieRepository.findByQueriesContaining(searchQuery)
                 .orElse(List.of());
         if (!existing.isEmpty()) {
-            searchCache.put(searchQuery, existing);
-            return existing;
+            cacheSearchResult(searchQuery, existing);
+            return Optional.of(existing);
+        }
+        // 3) local full-text search over the stored catalog, upstream only if it comes up short
+        List<Movie> local = searchIndex.search(searchQuery, localResultLimit);
+        if (isEnoughLocally(local)) {
+            cacheSearchResult(searchQuery, local);
+            return Optional.of(local);
+        }
+        // 4) typo tolerance: rewrite to a near-identical cached query, or correct misspelled terms locally
+        if (maxEdits > 0) {
+            Optional<List<Movie>> rewritten = knownQueries.lookup(searchQuery, TrigramIndex.editBudget(searchQuery, maxEdits), 3).stream()
+                    .filter(match -> match.isPlausibleTypoOf(searchQuery))
+                    .map(match -> searchCache.get(match.term()))
+                    .filter(Objects::nonNull)
+                    .findFirst();
+            if (rewritten.isPresent()) {
+                return rewritten;
+            }
+            List<Movie> corrected = searchIndex.search(searchQuery, maxEdits, localResultLimit);
+            if (isEnoughLocally(corrected)) {
+                cacheSearchResult(searchQuery, corrected);
+                return Optional.of(corrected);
+            }
+        }
+        return Optional.empty();
+    }
+
+    private <K> List<Movie> lookUp(String pipeline, Map<K, List<Movie>> cache, K key) {
+        CacheLookupEvent event = new CacheLookupEvent();
+        event.begin();
+        List<Movie> cached = stageObserver.observe(pipeline, "cache", () -> cache.get(key), StageObserver::hitOrMiss);
+        event.end(pipeline, key, cached != null);
+        return cached;
+    }
+
+    private boolean isEnoughLocally(List<Movie> movies) {
+        return !movies.isEmpty() && movies.size() >= localResultThreshold;
+    }
+
+    private void cacheSearchResult(String query, List<Movie> movies) {
+        if (searchCache.put(query, movies) == null && !movies.isEmpty()) {
+            knownQueries.add(query);
+        }
+    }
+
+    /**
+     * Fetches and stores the movies of a query again, whatever is cached or stored for it, e.g. to
+     * rebuild them from archived upstream responses after a change to {@link #formatMovieData}.
+     */
+    public List<Movie> reimport(String query) {
+        SearchStream.Result result = fetchAndStoreAllMovies(query, Deadline.none(), movie -> { }, () -> { });
+        cacheSearchResult(query, result.movies());
+        return result.movies();
+    }
+
+    public int searchCacheSize() {
+        return searchCache.size();
+    }
+
+    public int dailyCacheSize() {
+        return dailyCache.size();
+    }
+
+    /**
+     * Swaps an enriched movie into the in-memory search and daily results, or drops it from them
+     * when {@code enriched} is null (no backdrop on TMDB).
+     */
+    public void refreshCachedMovie(String slug, Movie enriched) {
+        searchCache.replaceAll((query, movies) -> replaceBySlug(movies, slug, enriched));
+        dailyCache.replaceAll((day, movies) -> replaceBySlug(movies, slug, enriched));
+    }
+
+    private static List<Movie> replaceBySlug(List<Movie> movies, String slug, Movie replacement) {
+        if (movies.stream().noneMatch(movie -> slug.equals(movie.slug()))) {
+            return movies;
+        }
+        List<Movie> updated = new ArrayList<>(movies.size());
+        for (Movie movie : movies) {
+            if (!slug.equals(movie.slug())) {
+                updated.add(movie);
+            } else if (replacement != null) {
+                updated.add(replacement);
+            }
         }
-        List<Movie> all = fetchAndStoreAllMovies(searchQuery);
-        searchCache.put(searchQuery, all);
-        return all;
+        return updated;
     }
 
-    private List<Movie> fetchAndStoreAllMovies(String query) {
-        String url = buildNetzkinoUrl(query);
-        ResponseEntity<NetzkinoResponse> resp = restTemplate.getForEntity(url, NetzkinoResponse.class);
+    // movies are handed to onMovie one by one as they are enriched, and saved together at the end
+    private SearchStream.Result fetchAndStoreAllMovies(String query, Deadline deadline, Consumer<Movie> onMovie, Runnable onSkipped) {
+        int skipped = 0;
+        ResponseEntity<NetzkinoResponse> resp;
+        try {
+            resp = stageObserver.observe(SEARCH_PIPELINE, "netzkino",
+                    () -> deadline.call(() -> searchNetzkino(query)));
+        } catch (RestClientException e) {
+            if (deadline.isExpired()) {
+                logger.info("Deadline reached while searching Netzkino for '{}'", query);
+                return new SearchStream.Result(List.of(), skipped, true, true);
+            }
+            throw e;
+        }
 
-        List<Movie> all = Optional.ofNullable(resp.getBody())
+        List<Post> posts = Optional.ofNullable(resp.getBody())
                 .map(NetzkinoResponse::posts)
-                .orElse(Collections.emptyList()).stream()
-                .map(post -> processMoviePost(post, query, List.of()))   // no dateFetched
-                .filter(Objects::nonNull)
-                .collect(Collectors.toList());
+                .orElse(Collections.emptyList());
+        List<Movie> all = new ArrayList<>(posts.size());
+        boolean partial = false;
+        for (Post post : posts) {
+            Movie movie = deadline.isExpired() ? null : processMoviePost(post, query, List.of(), deadline);   // no dateFetched
+            if (movie == null && deadline.isExpired()) {
+                partial = true;
+                break;
+            }
+            if (movie == null) {
+                skipped++;
+                onSkipped.run();
+                continue;
+            }
+            all.add(movie);
+            onMovie.accept(movie);
+        }
 
-        movieRepository.saveAll(all);
-        queryRepository.save(new Query(query));
-        return all;
+        if (partial) {
+            // stored, these would be found as the complete result of the query from then on
+            logger.info("Deadline reached after enriching {} of {} posts for '{}'", all.size(), posts.size(), query);
+            return new SearchStream.Result(all, skipped, true, true);
+        }
+        stageObserver.observe(SEARCH_PIPELINE, "persist", () -> movieRepository.saveAll(all));
+        queryRegistry.recordUse(query);
+        return new SearchStream.Result(all, skipped, true, false);
     }
 
     public List<Movie> getMoviesOfTheDay(List<String> names) {
+        return getMoviesOfTheDay(names, Deadline.none()).movies();
+    }
+
+    /**
+     * Today's movies, fetched within the given deadline if they are not known yet. A selection
+     * cut short by the deadline is returned as partial and neither cached nor stored.
+     */
+    public MovieResults getMoviesOfTheDay(List<String> names, Deadline deadline) {
         LocalDate today = LocalDate.now();
 
         // 0) Return movies for any previously used query in 'names'
         if (names != null && !names.isEmpty()) {
-            List<Query> usedQueries = queryRepository.findAll();
             for (String q : names) {
-                boolean wasUsed = usedQueries.stream()
-                        .anyMatch(existing -> existing.query().equals(q));
-                if (wasUsed) {
+                if (queryRegistry.contains(q)) {
                     // Fetch and return all movies matching this query
-                    return movieRepository.findByQueriesContaining(q)
-                            .orElse(Collections.emptyList());
+                    return MovieResults.complete(movieRepository.findByQueriesContaining(q)
+                            .orElse(Collections.emptyList()));
                 }
             }
         }
 
         // 1) In-memory cache
-        if (dailyCache.containsKey(today)) {
-            return dailyCache.get(today)
+        List<Movie> cachedToday = lookUp(DAILY_PIPELINE, dailyCache, today);
+        if (cachedToday != null) {
+            return MovieResults.complete(cachedToday
                     .stream()
                     .limit(5)
-                    .collect(Collectors.toList());
+                    .collect(Collectors.toList()));
         }
 
         // 2) Database fallback
@@ -401,63 +683,139 @@ public class MovieAPIService implements InitializingBean {
                     .limit(5)
                     .collect(Collectors.toList());
             dailyCache.put(today, limited);
-            return limited;
+            return MovieResults.complete(limited);
         }
 
         // 3) Fetch new movies
         List<String> source = (names != null && !names.isEmpty()) ? names : predefinedNames;
         String queryForToday = source.get(secureRandom.nextInt(source.size()));
 
-        List<Movie> fetched = fetchAndStoreMoviesForDay(queryForToday, List.of(today));
-        dailyCache.put(today, fetched);
+        AdaptiveConcurrencyLimiter.Permit permit = concurrencyLimiter.acquire();
+        MovieResults fetched;
+        try {
+            fetched = fetchAndStoreMoviesForDay(queryForToday, List.of(today), deadline);
+        } catch (RuntimeException e) {
+            permit.dropped();
+            throw e;
+        }
+        if (fetched.partial()) {
+            permit.dropped();
+        } else {
+            permit.success();
+            dailyCache.put(today, fetched.movies());
+        }
         return fetched;
     }
 
     public List<Movie> fetchAndStoreMoviesForDay(String query, List<LocalDate> dateFetched) {
-        System.out.println("Fetching movies from external API using query: " + query);
+        return fetchAndStoreMoviesForDay(query, dateFetched, Deadline.none()).movies();
+    }
+
+    public MovieResults fetchAndStoreMoviesForDay(String query, List<LocalDate> dateFetched, Deadline deadline) {
+        logger.info("Fetching daily movies from Netzkino with query {}", query);
 
         List<Movie> collectedMovies = new ArrayList<>();
         int maxRetries = 10;
 
-        for (int retryCount = 0; collectedMovies.size() < 5 && retryCount < maxRetries; retryCount++) {
-            String netzkinoURL = buildNetzkinoUrl(query);
-
+        for (int retryCount = 0; collectedMovies.size() < MOVIES_OF_THE_DAY && retryCount < maxRetries; retryCount++) {
+            if (deadline.isExpired()) {
+                logger.info("Deadline reached with {} of {} daily movies", collectedMovies.size(), MOVIES_OF_THE_DAY);
+                return new MovieResults(collectedMovies, true);
+            }
+            String dailyQuery = query;
             try {
-                ResponseEntity<NetzkinoResponse> response = restTemplate.getForEntity(netzkinoURL, NetzkinoResponse.class);
+                ResponseEntity<NetzkinoResponse> response = stageObserver.observe(DAILY_PIPELINE, "netzkino",
+                        () -> deadline.call(() -> searchNetzkino(dailyQuery)));
 
-                String finalQuery = query;
-                List<Movie> newMovies = Optional.ofNullable(response.getBody())
+                List<Post> posts = Optional.ofNullable(response.getBody())
                         .map(NetzkinoResponse::posts)
-                        .orElse(Collections.emptyList()).stream()
-                        .map(post -> processMoviePost(post, finalQuery, dateFetched))
-                        .filter(Objects::nonNull)
-                        .collect(Collectors.toList());
-
-                collectedMovies.addAll(newMovies);
+                        .orElse(Collections.emptyList());
+                collectedMovies.addAll(enrichUntil(posts, query, dateFetched, MOVIES_OF_THE_DAY - collectedMovies.size(), deadline));
 
-                if (collectedMovies.size() >= 5) break;
+                if (collectedMovies.size() >= MOVIES_OF_THE_DAY) break;
 
             } catch (Exception e) {
-                System.out.println("Error fetching movies: " + e.getMessage());
+                logger.warn("Error fetching daily movies: {}", e.getMessage());
             }
 
             query = getRandomQuery();
-            System.out.println("Retry " + (retryCount + 1) + ": Trying new query -> " + query);
+            logger.info("Retry {}: trying query {}", retryCount + 1, query);
         }
 
-        if (collectedMovies.size() < 5) {
+        if (collectedMovies.size() < MOVIES_OF_THE_DAY && deadline.isExpired()) {
+            logger.info("Deadline reached with {} of {} daily movies", collectedMovies.size(), MOVIES_OF_THE_DAY);
+            return new MovieResults(collectedMovies, true);
+        }
+        if (collectedMovies.size() < MOVIES_OF_THE_DAY) {
             throw new IllegalStateException("Failed to fetch 5 movies after " + maxRetries + " attempts.");
         }
 
-        movieRepository.saveAll(collectedMovies);
-        queryRepository.save(new Query(query));
+        stageObserver.observe(DAILY_PIPELINE, "persist", () -> movieRepository.saveAll(collectedMovies));
+        queryRegistry.recordUse(query);
 
-        System.out.println("Stored " + collectedMovies.size() + " movies in database.");
-        return collectedMovies;
+        logger.info("Stored {} daily movies", collectedMovies.size());
+        return MovieResults.complete(collectedMovies);
     }
 
-    private String buildNetzkinoUrl(String query) {
-        return NETZKINO_URL + "?q=" + query + "&d=" + netzkinoEnv;
+    /**
+     * Enriches posts in concurrent waves until {@code wanted} movies are found. Each wave is only
+     * as large as the number of movies still missing, so posts past the target never cost a TMDB
+     * call. Lookups still running when the deadline is reached are cancelled.
+     */
+    private List<Movie> enrichUntil(List<Post> posts, String query, List<LocalDate> dateFetched, int wanted, Deadline deadline) {
+        List<Candidate> candidates = new ArrayList<>();
+        for (Post post : posts) {
+            String imdbId = imdbIdOf(post);
+            if (!imdbId.isEmpty()) {
+                candidates.add(new Candidate(post, imdbId));
+            }
+        }
+
+        List<Movie> enriched = new ArrayList<>(wanted);
+        int next = 0;
+        while (enriched.size() < wanted && next < candidates.size() && !deadline.isExpired()) {
+            int waveEnd = Math.min(candidates.size(), next + wanted - enriched.size());
+            List<CompletableFuture<Movie>> wave = candidates.subList(next, waveEnd).stream()
+                    .map(candidate -> CompletableFuture.supplyAsync(
+                            () -> enrichMoviePost(DAILY_PIPELINE, candidate.post(), candidate.imdbId(), query, dateFetched, deadline),
+                            dailyEnrichmentExecutor))
+                    .toList();
+            for (CompletableFuture<Movie> lookup : wave) {
+                Movie movie = awaitWithin(lookup, deadline);
+                if (movie != null) {
+                    enriched.add(movie);
+                }
+            }
+            if (deadline.isExpired()) {
+                wave.forEach(lookup -> lookup.cancel(true));
+            }
+            next = waveEnd;
+        }
+        return enriched;
+    }
+
+    // null when the lookup found nothing, failed, or did not finish before the deadline
+    private static Movie awaitWithin(CompletableFuture<Movie> lookup, Deadline deadline) {
+        try {
+            return deadline.isBounded()
+                    ? lookup.get(deadline.remaining().toNanos(), TimeUnit.NANOSECONDS)
+                    : lookup.get();
+        } catch (TimeoutException | ExecutionException e) {
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    private record Candidate(Post post, String imdbId) {
+    }
+
+    // the URL is passed as a template so the client metrics and spans only see "?q={query}&d={env}",
+    // not the search text and the Netzkino key
+    private ResponseEntity<NetzkinoResponse> searchNetzkino(String query) {
+        return restTemplate.getForEntity(netzkinoUrl + "?q={query}&d={env}", NetzkinoResponse.class,
+                Map.of("query", query, "env", netzkinoEnv));
     }
 
     private String getRandomQuery() {
@@ -472,21 +830,62 @@ public class MovieAPIService implements InitializingBean {
         SearchQueryValidator.validate(sanitized);
     }
 
-    private Movie processMoviePost(Post post, String query, List<LocalDate> dateFetched) {
+    private Movie processMoviePost(Post post, String query, List<LocalDate> dateFetched, Deadline deadline) {
+        String imdbId = imdbIdOf(post);
+        return imdbId.isEmpty() ? null : enrichMoviePost(SEARCH_PIPELINE, post, imdbId, query, dateFetched, deadline);
+    }
+
+    // "" for posts we skip before asking TMDB
+    private String imdbIdOf(Post post) {
         if (post.custom_fields() == null) {
-            System.out.println("Post has no custom fields, skipping...");
-            return null;
+            logger.debug("Post {} has no custom fields, skipping", post.slug());
+            return "";
         }
 
         String imdbId = extractImdbId(CustomFields.getOrDefault(post.custom_fields().IMDb_Link(), ""));
         if (imdbId.isEmpty()) {
-            System.out.println("No valid IMDb ID found, skipping...");
-            return null;
+            logger.debug("Post {} has no valid IMDb id, skipping", post.slug());
         }
+        return imdbId;
+    }
 
-        String imgImdb = fetchMoviePosterFromTmdb(imdbId);
+    private Movie enrichMoviePost(String pipeline, Post post, String imdbId, String query, List<LocalDate> dateFetched, Deadline deadline) {
+        PostEnrichmentEvent event = new PostEnrichmentEvent();
+        event.begin();
+        Movie movie;
+        if (deferEnrichment) {
+            // answer with the Netzkino image for now, BackdropEnrichmentWorker fetches the backdrop later;
+            // a movie we already have a backdrop for keeps it and isn't looked up again
+            movie = formatPendingMovie(post, query, dateFetched, imdbId);
+            String storedBackdrop = storedBackdrop(post.slug());
+            if (storedBackdrop != null) {
+                movie = movie.withBackdrop(storedBackdrop);
+                event.end(pipeline, post.slug(), imdbId, "stored");
+            } else {
+                event.end(pipeline, post.slug(), imdbId, "deferred");
+            }
+        } else {
+            movie = enrichWithBackdrop(pipeline, post, imdbId, query, dateFetched, deadline);
+            event.end(pipeline, post.slug(), imdbId, movie == null ? "skipped" : "enriched");
+        }
+        return movie;
+    }
+
+    // movies are stored under their slug, so this is a lookup by _id
+    private String storedBackdrop(String slug) {
+        return movieRepository.findById(slug)
+                .filter(stored -> stored.enrichment() != EnrichmentStatus.PENDING)
+                .map(Movie::imgImdb)
+                .filter(backdrop -> !backdrop.isBlank())
+                .orElse(null);
+    }
+
+    private Movie enrichWithBackdrop(String pipeline, Post post, String imdbId, String query, List<LocalDate> dateFetched, Deadline deadline) {
+        String imgImdb = stageObserver.observe(pipeline, "tmdb",
+                () -> deadline.call(() -> fetchMoviePosterFromTmdb(imdbId)),
+                backdrop -> !"N/A".equals(backdrop) ? "found" : deadline.isExpired() ? "timeout" : "not_found");
         if ("N/A".equals(imgImdb)) {
-            System.out.println("Image not found on TMDB, skipping movie: " + post.title());
+            logger.debug("No TMDB backdrop for {}, skipping", post.slug());
             return null;
         }
 
@@ -513,57 +912,73 @@ public class MovieAPIService implements InitializingBean {
         );
     }
 
+    /**
+     * A movie still waiting for its TMDB backdrop; until then the Netzkino image stands in for it.
+     */
+    public Movie formatPendingMovie(Post post, String query, List<LocalDate> dateFetched, String imdbId) {
+        Movie movie = formatMovieData(post, query, dateFetched, "");
+        return new Movie(movie.id(), movie.netzkinoId(), movie.slug(), movie.title(), movie.year(), movie.overview(),
+                movie.regisseur(), movie.stars(), movie.imgNetzkino(), movie.imgNetzkinoSmall(), movie.imgNetzkino(),
+                movie.queries(), movie.dateFetched(), imdbId, EnrichmentStatus.PENDING);
+    }
+
+    /**
+     * The first IMDb title id ({@code tt} followed by digits) anywhere in the link, or "" if there
+     * is none. Scans the link in place, so the id itself is the only allocation.
+     */
     public String extractImdbId(String imdbLink) {
-        System.out.println("extractImdbId: Received IMDb link: " + imdbLink);
-        return Optional.ofNullable(imdbLink)
-                .filter(link -> link.contains("tt"))
-                .map(link -> link.split("/"))
-                .stream()
-                .flatMap(Arrays::stream)
-                .filter(part -> part.startsWith("tt"))
-                .findFirst()
-                .map(id -> {
-                    System.out.println("extractImdbId: Extracted IMDb ID: " + id);
-                    return id;
-                })
-                .orElse("");
+        if (imdbLink == null) {
+            return "";
+        }
+        int length = imdbLink.length();
+        for (int start = imdbLink.indexOf("tt"); start >= 0; start = imdbLink.indexOf("tt", start + 1)) {
+            int end = start + 2;
+            while (end < length && imdbLink.charAt(end) >= '0' && imdbLink.charAt(end) <= '9') {
+                end++;
+            }
+            if (end > start + 2) {
+                return imdbLink.substring(start, end);
+            }
+        }
+        return "";
     }
 
 
     public String fetchMoviePosterFromTmdb(String imdbId) {
         if (imdbId == null || imdbId.isEmpty()) {
-            System.out.println("fetchMoviePosterFromTmdb: IMDb ID is null or empty, returning N/A");
+            logger.debug("No IMDb id to look up on TMDB");
             return "N/A";
         }
 
-        String tmdbURL = TMDB_BASE_URL + imdbId + "?api_key=" + tmdbApiKey + "&language=de&external_source=imdb_id";
-        System.out.println("fetchMoviePosterFromTmdb: Fetching TMDB poster using URL: " + tmdbURL);
-
         try {
-            ResponseEntity<TmdbResponse> response = restTemplate.getForEntity(tmdbURL, TmdbResponse.class);
-
-            return Optional.ofNullable(response)
-                    .map(ResponseEntity::getBody)
-                    .map(TmdbResponse::movie_results)
-                    .filter(results -> !results.isEmpty())
-                    .map(results -> results.get(0))
-                    .map(TmdbMovieResult::backdrop_path)
-                    .filter(path -> !path.isEmpty())
-                    .map(path -> {
-                        String imageUrl = TMDB_IMAGE_URL + path;
-                        System.out.println("fetchMoviePosterFromTmdb: Retrieved image URL: " + imageUrl);
-                        return imageUrl;
-                    })
-                    .orElseGet(() -> {
-                        System.out.println("fetchMoviePosterFromTmdb: No valid backdrop image found, returning N/A");
-                        return "N/A";
-                    });
-
+            return lookupBackdrop(imdbId).orElse("N/A");
         } catch (Exception e) {
-            System.out.println("fetchMoviePosterFromTmdb: Error fetching TMDB poster for IMDb ID " + imdbId + ": " + e.getMessage());
+            logger.warn("TMDB lookup failed for {}: {}", imdbId, e.getMessage());
             return "N/A";
         }
     }
 
+    /**
+     * The TMDB backdrop for an IMDb id, empty if TMDB has none. Unlike
+     * {@link #fetchMoviePosterFromTmdb(String)} a failed request is thrown, not mistaken for a
+     * missing backdrop.
+     */
+    public Optional<String> lookupBackdrop(String imdbId) throws RestClientException {
+        logger.debug("Looking up TMDB backdrop for {}", imdbId);
+
+        // a template, so the API key and the id stay out of the client metrics and spans
+        ResponseEntity<TmdbResponse> response = restTemplate.getForEntity(
+                tmdbBaseUrl + "{imdbId}?api_key={apiKey}&language=de&external_source=imdb_id", TmdbResponse.class,
+                Map.of("imdbId", imdbId, "apiKey", tmdbApiKey));
+        return Optional.ofNullable(response)
+                .map(ResponseEntity::getBody)
+                .map(TmdbResponse::movie_results)
+                .filter(results -> !results.isEmpty())
+                .map(results -> results.get(0))
+                .map(TmdbMovieResult::backdrop_path)
+                .filter(path -> !path.isEmpty())
+                .map(path -> TMDB_IMAGE_URL + path);
+    }
+
 
 }
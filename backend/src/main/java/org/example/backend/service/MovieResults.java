@@ -0,0 +1,18 @@
+package org.example.backend.service;
+
+import org.example.backend.model.Movie;
+
+import java.util.List;
+
+/**
+ * Movies answered for a search or the daily selection.
+ *
+ * @param partial whether the request deadline cut the upstream work short, leaving out movies a
+ *                complete answer would have
+ */
+public record MovieResults(List<Movie> movies, boolean partial) {
+
+    public static MovieResults complete(List<Movie> movies) {
+        return new MovieResults(movies, false);
+    }
+}
@@ -1,52 +1,126 @@
 package org.example.backend.service;
 
+import org.example.backend.cache.CacheConfig;
+import org.example.backend.dtos.MovieSummary;
 import org.example.backend.exceptions.DatabaseException;
 import org.example.backend.model.Movie;
 import org.example.backend.repo.MovieRepo;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
-import java.util.List;
+
+import java.util.*;
 
 @Service
 public class MovieService {
 
+    private static final Logger logger = LoggerFactory.getLogger(MovieService.class);
+
     private final MovieRepo movieRepo;
     private final RestTemplate restTemplate;
+    private final CacheManager cacheManager;
 
     private final String tmdbApiKey;
     private final String netzkinoEnv;
 
 
-    public MovieService(MovieRepo movieRepo, RestTemplate restTemplate, @Value("${TMDB_API_KEY}") String tmdbApiKey, @Value("${NETZKINO_ENV}") String netzkinoEnv ) {
+    public MovieService(MovieRepo movieRepo, RestTemplate restTemplate, CacheManager cacheManager, @Value("${TMDB_API_KEY}") String tmdbApiKey, @Value("${NETZKINO_ENV}") String netzkinoEnv ) {
         this.movieRepo = movieRepo;
         this.restTemplate = restTemplate;
+        this.cacheManager = cacheManager;
         this.tmdbApiKey = tmdbApiKey;
         this.netzkinoEnv=netzkinoEnv;
     }
 
     // database interactions
     public List<Movie> getAllMovies() {
-        System.out.println("Fetching all movies from database...");
-        try {
+                try {
             List<Movie> movies = movieRepo.findAll();
-            System.out.println("Retrieved " + movies.size() + " movies from database.");
+            logger.debug("Retrieved {} movies from database", movies.size());
             return movies;
         } catch (Exception e) {
-            System.out.println("Failed to fetch movies: " + e.getMessage());
+            logger.error("Failed to fetch movies: {}", e.getMessage());
             throw new DatabaseException("Failed to fetch movies.");
         }
     }
 
+    @Cacheable(cacheNames = CacheConfig.MOVIES, key = "#slug")
     public Movie getMovieBySlug(String slug) {
-        System.out.println("Fetching movie by slug: " + slug);
+        logger.debug("Fetching movie by slug {}", slug);
         return movieRepo.findBySlug(slug)
                 .orElseThrow(() -> {
-                    System.out.println("Movie with slug " + slug + " not found!");
+                    logger.debug("Movie with slug {} not found", slug);
                     return new DatabaseException("Movie with slug " + slug + " not found.");
                 });
     }
 
+    /**
+     * Movies for the given slugs in the same order, skipping slugs that no longer exist.
+     * Cached movies are used as they are; the rest come from a single {@code $in} query and
+     * are cached for the next call.
+     */
+    public List<Movie> getMoviesBySlugs(List<String> slugs) {
+        Map<String, Movie> found = new HashMap<>();
+        Set<String> missing = new LinkedHashSet<>();
+        Cache cache = cacheManager.getCache(CacheConfig.MOVIES);
+        for (String slug : slugs) {
+            Movie cached = cache != null ? cache.get(slug, Movie.class) : null;
+            if (cached != null) {
+                found.put(slug, cached);
+            } else {
+                missing.add(slug);
+            }
+        }
+        if (!missing.isEmpty()) {
+            for (Movie movie : movieRepo.findBySlugIn(missing)) {
+                found.put(movie.slug(), movie);
+                if (cache != null) {
+                    cache.put(movie.slug(), movie);
+                }
+            }
+        }
+        return inOrder(slugs, found);
+    }
+
+    /**
+     * Like {@link #getMoviesBySlugs(List)}, but only the card fields. Cache misses are read with a
+     * projection and not cached, since they are not full movies.
+     */
+    public List<MovieSummary> getMovieSummariesBySlugs(List<String> slugs) {
+        Map<String, MovieSummary> found = new HashMap<>();
+        Set<String> missing = new LinkedHashSet<>();
+        Cache cache = cacheManager.getCache(CacheConfig.MOVIES);
+        for (String slug : slugs) {
+            Movie cached = cache != null ? cache.get(slug, Movie.class) : null;
+            if (cached != null) {
+                found.put(slug, MovieSummary.of(cached));
+            } else {
+                missing.add(slug);
+            }
+        }
+        if (!missing.isEmpty()) {
+            movieRepo.findBySlugIn(missing, MovieSummary.class)
+                    .forEach(summary -> found.put(summary.slug(), summary));
+        }
+        return inOrder(slugs, found);
+    }
+
+    private static <T> List<T> inOrder(List<String> slugs, Map<String, T> found) {
+        List<T> ordered = new ArrayList<>(slugs.size());
+        for (String slug : slugs) {
+            T value = found.get(slug);
+            if (value != null) {
+                ordered.add(value);
+            }
+        }
+        return ordered;
+    }
+
     public Movie saveMovie(Movie movie) {
         return movieRepo.save(movie);
     }
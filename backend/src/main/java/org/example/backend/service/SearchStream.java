@@ -0,0 +1,38 @@
+package org.example.backend.service;
+
+import org.example.backend.model.Movie;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * A search whose results are delivered one movie at a time. Running it blocks until the search
+ * is finished and everything has been stored.
+ */
+@FunctionalInterface
+public interface SearchStream {
+
+    Result run(Consumer<Movie> onMovie);
+
+    /**
+     * Called instead of {@link #run} for a stream that will never run; gives back whatever
+     * opening it charged.
+     */
+    default void discard() {
+    }
+
+    static SearchStream of(List<Movie> movies) {
+        return onMovie -> {
+            movies.forEach(onMovie);
+            return new Result(movies, 0, false, false);
+        };
+    }
+
+    /**
+     * @param skipped  upstream posts dropped because they had no IMDb id or TMDB image
+     * @param upstream whether the results came from Netzkino rather than our own catalog
+     * @param partial  whether the request deadline cut the search short
+     */
+    record Result(List<Movie> movies, int skipped, boolean upstream, boolean partial) {
+    }
+}
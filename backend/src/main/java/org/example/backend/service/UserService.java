@@ -0,0 +1,40 @@
+package org.example.backend.service;
+
+import org.example.backend.repo.UserRepo;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.stereotype.Service;
+
+@Service
+public class UserService implements InitializingBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserService.class);
+
+    private final UserRepo userRepo;
+
+    public UserService(UserRepo userRepo) {
+        this.userRepo = userRepo;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        // the unique index is what makes concurrent registrations of one user safe
+        try {
+            userRepo.ensureUniqueGithubIdIndex();
+        } catch (RuntimeException e) {
+            logger.warn("Could not create unique index on users.githubId: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Registers the user on first login. Safe to call on every login, from any number of threads
+     * and nodes at once: it is a single upsert and never creates a second document.
+     */
+    public String register(String githubId, String username) {
+        if (userRepo.registerIfAbsent(githubId, username)) {
+            logger.info("Registered new user {}", githubId);
+        }
+        return githubId;
+    }
+}
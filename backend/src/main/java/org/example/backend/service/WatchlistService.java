@@ -1,15 +1,19 @@
 package org.example.backend.service;
 
+import org.example.backend.exceptions.UserNotFoundException;
 import org.example.backend.model.User;
 import org.example.backend.repo.UserRepo;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
-import java.util.List;
-import java.util.Optional;
+import java.util.*;
 
 @Service
 public class WatchlistService {
 
+    private static final Logger logger = LoggerFactory.getLogger(WatchlistService.class);
+
     private final UserRepo userRepo;
 
     public WatchlistService(UserRepo userRepo) {
@@ -18,14 +22,34 @@ public class WatchlistService {
 
     // ✅ Check if a movie is in the user's watchlist
     public boolean isMovieInWatchlist(String githubId, String movieSlug) {
-        System.out.println("Checking if movie " + movieSlug + " is in watchlist for user " + githubId);
+        logger.debug("Checking if movie {} is in watchlist for user {}", movieSlug, githubId);
         Optional<User> userOpt = userRepo.findByGithubId(githubId);
         return userOpt.map(user -> user.favorites().contains(movieSlug)).orElse(false);
     }
 
+    // ✅ Check many movies at once with a single projected read of favorites
+    public Map<String, Boolean> areMoviesInWatchlist(String githubId, Collection<String> movieSlugs) {
+        Set<String> favorites = userRepo.findFavoritesByGithubId(githubId)
+                .map(User::favorites)
+                .<Set<String>>map(HashSet::new)
+                .orElse(Set.of());
+        Map<String, Boolean> result = new LinkedHashMap<>();
+        for (String slug : movieSlugs) {
+            result.put(slug, favorites.contains(slug));
+        }
+        return result;
+    }
+
+    // ✅ Slugs on the user's watchlist, in the order they were added
+    public List<String> getWatchlistSlugs(String githubId) {
+        return userRepo.findFavoritesByGithubId(githubId)
+                .map(user -> user.favorites() == null ? List.<String>of() : user.favorites())
+                .orElseThrow(() -> new UserNotFoundException("User with ID " + githubId + " not found in database."));
+    }
+
     // ✅ Add a movie to the watchlist
     public void addToWatchlist(String githubId, String movieSlug) {
-        System.out.println("Adding movie " + movieSlug + " to watchlist for user " + githubId);
+        logger.debug("Adding movie {} to watchlist for user {}", movieSlug, githubId);
         Optional<User> userOpt = userRepo.findByGithubId(githubId);
 
         userOpt.ifPresentOrElse(user -> {
@@ -33,11 +57,11 @@ public class WatchlistService {
             if (!favorites.contains(movieSlug)) {
                 favorites.add(movieSlug);
                 userRepo.save(new User(user.id(), user.githubId(), user.username(), favorites));
-                System.out.println("Movie added successfully.");
+                logger.debug("Movie {} added to watchlist of {}", movieSlug, githubId);
             } else {
-                System.out.println("Movie already in watchlist.");
+                logger.debug("Movie {} already in watchlist of {}", movieSlug, githubId);
             }
-        }, () -> System.out.println("User not found."));
+        }, () -> logger.debug("User {} not found", githubId));
     }
 
     // ✅ Remove a movie from the watchlist
@@ -49,10 +73,10 @@ public class WatchlistService {
             if (favorites.contains(movieSlug)) {
                 favorites.remove(movieSlug);
                 userRepo.save(new User(user.id(), user.githubId(), user.username(), favorites));
-                System.out.println("Movie removed successfully.");
+                logger.debug("Movie {} removed from watchlist of {}", movieSlug, githubId);
             } else {
-                System.out.println("Movie not found in watchlist.");
+                logger.debug("Movie {} not in watchlist of {}", movieSlug, githubId);
             }
-        }, () -> System.out.println("User not found."));
+        }, () -> logger.debug("User {} not found", githubId));
     }
 }
@@ -0,0 +1,44 @@
+package org.example.backend.warmup;
+
+import io.micrometer.observation.ObservationPredicate;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+
+@Configuration
+@ConditionalOnProperty(name = "movies.warmup.enabled", havingValue = "true")
+public class WarmupConfig {
+
+    // the warm-up's own requests would otherwise fill the latency histograms with thousands of
+    // fast type-ahead calls; the header only counts from this host
+    @Bean
+    public ObservationPredicate warmupRequestsNotObserved() {
+        return (name, context) -> {
+            HttpServletRequest request = context instanceof ServerRequestObservationContext server
+                    ? server.getCarrier()
+                    : RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes
+                    ? attributes.getRequest()
+                    : null;
+            return request == null || request.getHeader(WarmupWorkload.HEADER) == null || !isLoopback(request.getRemoteAddr());
+        };
+    }
+
+    private static boolean isLoopback(String address) {
+        if (address == null) {
+            return false;
+        }
+        try {
+            // an IP literal, so there is no lookup
+            return InetAddress.getByName(address).isLoopbackAddress();
+        } catch (UnknownHostException e) {
+            return false;
+        }
+    }
+}
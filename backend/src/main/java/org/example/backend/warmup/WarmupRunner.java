@@ -0,0 +1,138 @@
+package org.example.backend.warmup;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.CompilationMXBean;
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * With {@code movies.warmup.enabled=true}, runs {@link WarmupWorkload} in rounds before the
+ * application takes traffic, so the first real requests find the search path JIT-compiled.
+ * Rounds go on until the JIT spends less than {@code movies.warmup.settle-ratio} of a round
+ * compiling, or until {@code movies.warmup.max-duration}. Boot reports readiness
+ * (ACCEPTING_TRAFFIC) only after all runners are done, so the readiness probe stays down until
+ * then; a failing warm-up is logged and doesn't hold up startup.
+ * <p>
+ * The result is published as {@code movies.warmup.*} gauges: total duration, rounds, JIT time
+ * spent, and the first and last round's duration, whose ratio is what warming up gained.
+ */
+@Component
+@ConditionalOnProperty(name = "movies.warmup.enabled", havingValue = "true")
+public class WarmupRunner implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(WarmupRunner.class);
+
+    static final int MIN_ROUNDS = 3;
+
+    private final WarmupWorkload workload;
+    private final LongSupplier compilationMillis;
+    private final Duration maxDuration;
+    private final int roundIterations;
+    private final double settleRatio;
+    private volatile Result result;
+
+    public WarmupRunner(WarmupWorkload workload, MeterRegistry meterRegistry,
+                        @Value("${movies.warmup.max-duration:30s}") Duration maxDuration,
+                        @Value("${movies.warmup.round-iterations:200}") int roundIterations,
+                        @Value("${movies.warmup.settle-ratio:0.02}") double settleRatio) {
+        this(workload, meterRegistry, jitCompilationMillis(), maxDuration, roundIterations, settleRatio);
+    }
+
+    WarmupRunner(WarmupWorkload workload, MeterRegistry meterRegistry, LongSupplier compilationMillis,
+                 Duration maxDuration, int roundIterations, double settleRatio) {
+        this.workload = workload;
+        this.compilationMillis = compilationMillis;
+        this.maxDuration = maxDuration;
+        this.roundIterations = roundIterations;
+        this.settleRatio = settleRatio;
+
+        timeGauge(meterRegistry, "movies.warmup.duration", "Time the warm-up took before readiness", Result::totalNanos);
+        timeGauge(meterRegistry, "movies.warmup.compilation", "JIT compilation time during the warm-up", Result::compilationNanos);
+        timeGauge(meterRegistry, "movies.warmup.round.duration", "Duration of the first and the last warm-up round",
+                Result::firstRoundNanos, "round", "first");
+        timeGauge(meterRegistry, "movies.warmup.round.duration", "Duration of the first and the last warm-up round",
+                Result::lastRoundNanos, "round", "last");
+        Gauge.builder("movies.warmup.rounds", this, runner -> runner.value(Result::rounds))
+                .description("Warm-up rounds run before readiness")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long start = System.nanoTime();
+        long compiledBefore = compilationMillis.getAsLong();
+        int rounds = 0;
+        long firstRound = 0;
+        long lastRound = 0;
+        boolean settled = false;
+        try {
+            workload.prepare();
+            long deadline = start + maxDuration.toNanos();
+            while (!settled && System.nanoTime() - deadline < 0) {
+                long roundStart = System.nanoTime();
+                long compiledAtRoundStart = compilationMillis.getAsLong();
+                for (int i = 0; i < roundIterations; i++) {
+                    workload.runOnce(rounds * roundIterations + i);
+                }
+                lastRound = System.nanoTime() - roundStart;
+                long compiled = TimeUnit.MILLISECONDS.toNanos(compilationMillis.getAsLong() - compiledAtRoundStart);
+                if (rounds++ == 0) {
+                    firstRound = lastRound;
+                }
+                settled = rounds >= MIN_ROUNDS && compiled <= lastRound * settleRatio;
+            }
+        } catch (Exception e) {
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            logger.warn("Warm-up stopped after {} rounds: {}", rounds, e.toString());
+        }
+        result = new Result(System.nanoTime() - start, rounds, firstRound, lastRound,
+                TimeUnit.MILLISECONDS.toNanos(compilationMillis.getAsLong() - compiledBefore));
+        logger.info("Warm-up took {} ms in {} rounds ({}), first round {} ms, last round {} ms",
+                TimeUnit.NANOSECONDS.toMillis(result.totalNanos()), rounds, settled ? "JIT settled" : "not settled",
+                TimeUnit.NANOSECONDS.toMillis(firstRound), TimeUnit.NANOSECONDS.toMillis(lastRound));
+    }
+
+    Result result() {
+        return result;
+    }
+
+    private double value(ToDoubleFunction<Result> metric) {
+        Result current = result;
+        return current == null ? Double.NaN : metric.applyAsDouble(current);
+    }
+
+    private void timeGauge(MeterRegistry registry, String name, String description, ToDoubleFunction<Result> metric,
+                           String... tags) {
+        TimeGauge.builder(name, this, TimeUnit.NANOSECONDS, runner -> runner.value(metric))
+                .tags(tags)
+                .description(description)
+                .register(registry);
+    }
+
+    // total time the JIT compiler threads have spent, 0 where the JVM doesn't tell
+    private static LongSupplier jitCompilationMillis() {
+        CompilationMXBean compilation = ManagementFactory.getCompilationMXBean();
+        if (compilation == null || !compilation.isCompilationTimeMonitoringSupported()) {
+            return () -> 0;
+        }
+        return compilation::getTotalCompilationTime;
+    }
+
+    record Result(long totalNanos, int rounds, long firstRoundNanos, long lastRoundNanos, long compilationNanos) {
+    }
+}
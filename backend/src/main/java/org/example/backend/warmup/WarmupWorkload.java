@@ -0,0 +1,201 @@
+package org.example.backend.warmup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.backend.dtos.netzkino.CustomFields;
+import org.example.backend.dtos.netzkino.NetzkinoResponse;
+import org.example.backend.dtos.netzkino.Post;
+import org.example.backend.dtos.tmdb.TmdbResponse;
+import org.example.backend.model.Movie;
+import org.example.backend.replay.ResponseArchive;
+import org.example.backend.search.MovieSearchIndex;
+import org.example.backend.service.MovieAPIService;
+import org.example.backend.validation.SearchQueryValidator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static java.util.Map.entry;
+
+/**
+ * The hot paths of a search, run in-process by {@link WarmupRunner}: binding Netzkino and TMDB
+ * responses, turning posts into movies, the local catalog search and writing movie lists as JSON,
+ * plus type-ahead requests through the running server. Payloads are synthetic, joined by the
+ * recorded ones in the replay archive when there are any. Nothing here calls Netzkino or TMDB or
+ * touches Mongo, and the search index is a private one.
+ * <p>
+ * {@code /api/movies/search} is not sent through the server: it would go to the real search
+ * cache and Mongo and, on a miss, upstream. Its steps run in-process instead, so the search
+ * endpoint's own request handling is still cold for the first searches.
+ */
+@Component
+@ConditionalOnProperty(name = "movies.warmup.enabled", havingValue = "true")
+public class WarmupWorkload {
+
+    // marks the warm-up's own requests, which are left out of metrics and traces
+    public static final String HEADER = "X-Warmup";
+
+    private static final Logger logger = LoggerFactory.getLogger(WarmupWorkload.class);
+
+    private static final int SYNTHETIC_POSTS = 40;
+    private static final int MAX_RECORDED_PAYLOADS = 20;
+    private static final List<String> QUERIES = List.of("berlin", "nolan", "matrix", "heist", "drama",
+            "komoedie", "klassiker", "lenin", "paula", "victoria");
+    private static final List<LocalDate> DATE_FETCHED = List.of(LocalDate.of(2025, 1, 1));
+
+    private final ObjectMapper objectMapper;
+    private final MovieAPIService movieAPIService;
+    private final ResponseArchive archive;
+    private final Environment environment;
+
+    private final List<byte[]> netzkinoPayloads = new ArrayList<>();
+    private final List<byte[]> tmdbPayloads = new ArrayList<>();
+    private final MovieSearchIndex searchIndex = new MovieSearchIndex();
+    private HttpClient httpClient;
+    private URI baseUri;
+
+    public WarmupWorkload(ObjectMapper objectMapper, MovieAPIService movieAPIService, ResponseArchive archive,
+                          Environment environment) {
+        this.objectMapper = objectMapper;
+        this.movieAPIService = movieAPIService;
+        this.archive = archive;
+        this.environment = environment;
+    }
+
+    /**
+     * Builds the payloads and finds the server port; called once before the first round.
+     */
+    public void prepare() throws IOException {
+        netzkinoPayloads.add(objectMapper.writeValueAsBytes(syntheticSearchResponse()));
+        tmdbPayloads.add(objectMapper.writeValueAsBytes(syntheticFindResponse()));
+        for (ResponseArchive.Entry entry : archive.entries()) {
+            if (entry.status() != 200) {
+                continue;
+            }
+            if (entry.key().contains("/search?") && netzkinoPayloads.size() <= MAX_RECORDED_PAYLOADS) {
+                netzkinoPayloads.add(entry.body());
+            } else if (entry.key().contains("/find/") && tmdbPayloads.size() <= MAX_RECORDED_PAYLOADS) {
+                tmdbPayloads.add(entry.body());
+            }
+        }
+        searchIndex.indexAll(toMovies(bind(netzkinoPayloads.get(0)), QUERIES.get(0)));
+
+        Integer port = environment.getProperty("local.server.port", Integer.class);
+        if (port != null) {
+            httpClient = HttpClient.newHttpClient();
+            baseUri = URI.create("http://localhost:" + port);
+        }
+        logger.info("Warm-up uses {} Netzkino and {} TMDB payloads ({} recorded){}", netzkinoPayloads.size(),
+                tmdbPayloads.size(), netzkinoPayloads.size() + tmdbPayloads.size() - 2,
+                baseUri == null ? ", no server to send requests to" : "");
+    }
+
+    /**
+     * One pass over every hot path; {@code iteration} picks the payload and query.
+     */
+    public void runOnce(int iteration) throws IOException, InterruptedException {
+        String query = QUERIES.get(iteration % QUERIES.size());
+        SearchQueryValidator.validate(query);
+
+        List<Movie> movies = toMovies(bind(netzkinoPayloads.get(iteration % netzkinoPayloads.size())), query);
+        objectMapper.readValue(tmdbPayloads.get(iteration % tmdbPayloads.size()), TmdbResponse.class);
+        objectMapper.writeValueAsBytes(movies);
+        objectMapper.writeValueAsBytes(searchIndex.search(query, 2, 50));
+
+        if (baseUri != null) {
+            String prefix = query.substring(0, 1 + iteration % (query.length() - 1));
+            HttpRequest request = HttpRequest.newBuilder(
+                            baseUri.resolve("/api/movies/suggest?prefix=" + URLEncoder.encode(prefix, StandardCharsets.UTF_8)))
+                    .header(HEADER, "true")
+                    .build();
+            httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+        }
+    }
+
+    private NetzkinoResponse bind(byte[] payload) throws IOException {
+        return objectMapper.readValue(payload, NetzkinoResponse.class);
+    }
+
+    // the same steps as the import, minus the TMDB lookup
+    private List<Movie> toMovies(NetzkinoResponse response, String query) {
+        List<Movie> movies = new ArrayList<>();
+        if (response.posts() == null) {
+            return movies;
+        }
+        for (Post post : response.posts()) {
+            if (post.custom_fields() == null) {
+                continue;
+            }
+            String imdbId = movieAPIService.extractImdbId(CustomFields.getOrDefault(post.custom_fields().IMDb_Link(), ""));
+            if (!imdbId.isEmpty()) {
+                movies.add(movieAPIService.formatMovieData(post, query, DATE_FETCHED, "/" + imdbId + ".jpg"));
+            }
+        }
+        return movies;
+    }
+
+    private static Map<String, Object> syntheticSearchResponse() {
+        List<Map<String, Object>> posts = new ArrayList<>();
+        for (int i = 0; i < SYNTHETIC_POSTS; i++) {
+            String slug = QUERIES.get(i % QUERIES.size()) + "-" + i;
+            String image = "https://example.org/wp-content/uploads/" + slug;
+            Map<String, Object> customFields = Map.ofEntries(
+                    entry("Duration", List.of(String.valueOf(5400 + i))),
+                    entry("productionCountry", "DE"),
+                    entry("featured_img_all", List.of(image + ".jpg")),
+                    entry("featured_img_all_small", List.of(image + "-300x169.jpg")),
+                    entry("licenseStart", "2020-01-01T00:00:00+01:00"),
+                    entry("drm", i % 2 == 0),
+                    entry("FSK", List.of("12")),
+                    entry("IMDb-Link", List.of("https://www.imdb.com/title/tt" + (1_000_000 + i) + "/")),
+                    entry("Jahr", List.of(String.valueOf(1960 + i))),
+                    entry("Regisseur", List.of("Regie " + i + " ")),
+                    entry("Stars", List.of("Star " + i + ", Star " + (i + 1))));
+            posts.add(Map.ofEntries(
+                    entry("id", 10_000 + i),
+                    entry("slug", slug),
+                    entry("title", "Film " + QUERIES.get(i % QUERIES.size()) + " " + i + " "),
+                    entry("content", "\nEin Film über " + QUERIES.get(i % QUERIES.size()) + ".\n"),
+                    entry("date", "2020-01-01T12:00:00+01:00"),
+                    entry("author", Map.of("name", "netzkino")),
+                    entry("categories", List.of(1, 2)),
+                    entry("thumbnail", image + "-150x150.jpg"),
+                    entry("custom_fields", customFields)));
+        }
+        return Map.of("searchTerm", QUERIES.get(0), "status", "ok", "count_total", SYNTHETIC_POSTS,
+                "count", SYNTHETIC_POSTS, "page", 1, "pages", 1, "posts", posts);
+    }
+
+    private static Map<String, Object> syntheticFindResponse() {
+        Map<String, Object> result = Map.ofEntries(
+                entry("adult", false),
+                entry("backdrop_path", "/backdrop.jpg"),
+                entry("id", 1),
+                entry("title", "Film"),
+                entry("original_language", "de"),
+                entry("original_title", "Film"),
+                entry("overview", "Ein Film."),
+                entry("poster_path", "/poster.jpg"),
+                entry("media_type", "movie"),
+                entry("genre_ids", List.of(18, 35)),
+                entry("popularity", 12.5),
+                entry("release_date", "2003-02-13"),
+                entry("video", false),
+                entry("vote_average", 7.5),
+                entry("vote_count", 1000));
+        return Map.of("movie_results", List.of(result), "person_results", List.of());
+    }
+}
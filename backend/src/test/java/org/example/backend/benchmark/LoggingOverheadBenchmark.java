@@ -0,0 +1,116 @@
+package org.example.backend.benchmark;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.OutputStreamAppender;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.slf4j.Logger;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Logging cost of one upstream search of 40 posts, as the import used to log it (three
+ * concatenated {@code println}s per post, TMDB URL included) and as it logs now (parameterized
+ * DEBUG statements that are disabled at the default level), plus the cost of one INFO event
+ * through the async appender. Output goes to a null stream, so console speed is not included.
+ * <p>
+ * Run with:
+ * <pre>
+ * mvn test-compile exec:exec -Dexec.executable=java -Dexec.classpathScope=test \
+ *     -Dexec.args="-cp %classpath org.openjdk.jmh.Main LoggingOverheadBenchmark"
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LoggingOverheadBenchmark {
+
+    private static final int POSTS = 40;
+
+    private PrintStream console;
+    private LoggerContext loggerContext;
+    private Logger logger;
+    private String[] links;
+
+    @Setup
+    public void setUp() {
+        // System.out is a synchronized PrintStream as well
+        console = new PrintStream(OutputStream.nullOutputStream(), true);
+
+        loggerContext = new LoggerContext();
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(loggerContext);
+        encoder.setPattern("%d{yyyy-MM-dd'T'HH:mm:ss.SSSXXX} %5p [%t] %logger{39} : %m%n");
+        encoder.start();
+        OutputStreamAppender<ILoggingEvent> sink = new OutputStreamAppender<>();
+        sink.setContext(loggerContext);
+        sink.setEncoder(encoder);
+        sink.setOutputStream(OutputStream.nullOutputStream());
+        sink.start();
+        AsyncAppender async = new AsyncAppender();
+        async.setContext(loggerContext);
+        async.setQueueSize(1024);
+        async.setNeverBlock(true);
+        async.addAppender(sink);
+        async.start();
+        ch.qos.logback.classic.Logger benchLogger = loggerContext.getLogger("org.example.backend.service.MovieAPIService");
+        benchLogger.setLevel(Level.INFO);
+        benchLogger.setAdditive(false);
+        benchLogger.addAppender(async);
+        logger = benchLogger;
+
+        links = new String[POSTS];
+        for (int i = 0; i < POSTS; i++) {
+            links[i] = "https://www.imdb.com/title/tt" + (1000000 + i) + "/";
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        loggerContext.stop();
+    }
+
+    @Benchmark
+    public void before_concatenatedPrintln() {
+        for (String link : links) {
+            String id = link.substring(27, 36);
+            console.println("extractImdbId: Received IMDb link: " + link);
+            console.println("extractImdbId: Extracted IMDb ID: " + id);
+            console.println("fetchMoviePosterFromTmdb: Fetching TMDB poster using URL: "
+                    + "https://api.themoviedb.org/3/find/" + id + "?api_key=KEY&language=de&external_source=imdb_id");
+        }
+        console.println("Stored " + POSTS + " movies in database.");
+    }
+
+    @Benchmark
+    public void after_disabledDebug() {
+        for (String link : links) {
+            String id = link.substring(27, 36);
+            logger.debug("Looking up TMDB backdrop for {}", id);
+        }
+    }
+
+    // a single INFO event through the async appender; its worker thread needs a spare core, on a
+    // single-core machine this mostly measures the two threads taking turns
+    @Benchmark
+    public void after_asyncInfoEvent() {
+        logger.info("Stored {} daily movies", POSTS);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(LoggingOverheadBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,140 @@
+package org.example.backend.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.backend.dtos.netzkino.CustomFields;
+import org.example.backend.dtos.netzkino.NetzkinoResponse;
+import org.example.backend.dtos.netzkino.Post;
+import org.example.backend.dtos.tmdb.TmdbResponse;
+import org.example.backend.service.MovieAPIService;
+import org.example.backend.validation.SearchQueryValidator;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CPU and allocation cost of the per-post import path, measured on the 40-post search response
+ * and the TMDB find response in {@code src/test/resources/payloads}. Every benchmark except the
+ * two binding ones reports the cost of one post (or one query).
+ * <p>
+ * Run with allocation profiling through the {@code jmh} profile, which writes
+ * {@code target/jmh-result.json} to compare against {@code benchmarks/baseline}:
+ * <pre>
+ * mvn -Pjmh verify -Djmh.include=PerPostProcessingBenchmark
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PerPostProcessingBenchmark {
+
+    private static final int POSTS = 40;
+    private static final List<String> QUERIES = List.of("berlin", "nolan", "matrix", "heist", "drama",
+            "komoedie", "klassiker", "lenin", "paula", "victoria");
+
+    private ObjectMapper objectMapper;
+    private byte[] netzkinoPayload;
+    private byte[] tmdbPayload;
+    private List<Post> posts;
+    private String[] imdbLinks;
+    private MovieAPIService service;
+    private List<LocalDate> dateFetched;
+
+    @Setup
+    public void setUp() throws IOException {
+        // configured like the converter the RestTemplate binds upstream responses with
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        netzkinoPayload = payload("netzkino-search.json");
+        tmdbPayload = payload("tmdb-find.json");
+        posts = objectMapper.readValue(netzkinoPayload, NetzkinoResponse.class).posts();
+        if (posts.size() != POSTS) {
+            throw new IllegalStateException("Expected " + POSTS + " posts in the payload, got " + posts.size());
+        }
+        imdbLinks = posts.stream()
+                .map(post -> CustomFields.getOrDefault(post.custom_fields().IMDb_Link(), ""))
+                .toArray(String[]::new);
+        // the per-post methods touch none of the collaborators
+        service = new MovieAPIService(null, null, null, null, null, null, null, Runnable::run,
+                "tmdb-key", "netzkino-env", MovieAPIService.NETZKINO_URL, MovieAPIService.TMDB_BASE_URL, 5, 50, 2, false);
+        dateFetched = List.of(LocalDate.of(2025, 5, 30));
+    }
+
+    @Benchmark
+    public NetzkinoResponse bindNetzkinoResponse() throws IOException {
+        return objectMapper.readValue(netzkinoPayload, NetzkinoResponse.class);
+    }
+
+    @Benchmark
+    public TmdbResponse bindTmdbResponse() throws IOException {
+        return objectMapper.readValue(tmdbPayload, TmdbResponse.class);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(POSTS)
+    public void extractImdbId(Blackhole blackhole) {
+        for (String link : imdbLinks) {
+            blackhole.consume(service.extractImdbId(link));
+        }
+    }
+
+    // the lookups formatMovieData and imdbIdOf make per post
+    @Benchmark
+    @OperationsPerInvocation(POSTS)
+    public void customFieldsGetOrDefault(Blackhole blackhole) {
+        for (Post post : posts) {
+            CustomFields fields = post.custom_fields();
+            blackhole.consume(CustomFields.getOrDefault(fields.IMDb_Link(), ""));
+            blackhole.consume(CustomFields.getOrDefault(fields.Jahr(), "0"));
+            blackhole.consume(CustomFields.getOrDefault(fields.Regisseur(), "Unknown"));
+            blackhole.consume(CustomFields.getOrDefault(fields.Stars(), "Unknown"));
+            blackhole.consume(CustomFields.getOrDefault(fields.featured_img_all(), ""));
+            blackhole.consume(CustomFields.getOrDefault(fields.featured_img_all_small(), ""));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(POSTS)
+    public void formatMovieData(Blackhole blackhole) {
+        for (Post post : posts) {
+            blackhole.consume(service.formatMovieData(post, "berlin", dateFetched, " https://image.tmdb.org/t/p/w1280/backdrop.jpg"));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(10)
+    public void validateSearchQuery() {
+        for (String query : QUERIES) {
+            SearchQueryValidator.validate(query);
+        }
+    }
+
+    private static byte[] payload(String name) {
+        try (InputStream in = PerPostProcessingBenchmark.class.getResourceAsStream("/payloads/" + name)) {
+            if (in == null) {
+                throw new IllegalStateException("Missing payload " + name);
+            }
+            return in.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(PerPostProcessingBenchmark.class.getSimpleName())
+                .addProfiler("gc")
+                .build()).run();
+    }
+}
@@ -0,0 +1,117 @@
+package org.example.backend.benchmark;
+
+import org.example.backend.model.Movie;
+import org.example.backend.search.MovieSearchIndex;
+import org.example.backend.search.TrigramIndex;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of a misspelled title search against catalogs of 10k and 100k synthetic movies:
+ * {@code search} is {@link MovieSearchIndex#search(String, int, int)}, the local step a typo'd
+ * query takes, and {@code vocabularyLookup} the trigram lookup alone on the same words.
+ * <p>
+ * Run with:
+ * <pre>
+ * mvn -Pjmh verify -Djmh.include=TypoSearchBenchmark
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TypoSearchBenchmark {
+
+    private static final String CONSONANTS = "bcdfghjklmnprstvwz";
+    private static final String VOWELS = "aeiou";
+    private static final int OVERVIEW_WORDS = 12;
+
+    @Param({"10000", "100000"})
+    private int titles;
+
+    private MovieSearchIndex searchIndex;
+    private TrigramIndex vocabulary;
+    private List<String> misspelled;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        searchIndex = new MovieSearchIndex();
+        vocabulary = new TrigramIndex();
+        List<String> longWords = new ArrayList<>();
+        for (int i = 0; i < titles; i++) {
+            String title = words(random, 2 + random.nextInt(3), longWords);
+            String regisseur = words(random, 2, longWords);
+            String stars = words(random, 2, longWords) + ", " + words(random, 2, longWords);
+            String overview = words(random, OVERVIEW_WORDS, longWords);
+            searchIndex.index(new Movie("slug-" + i, i, "slug-" + i, title, "2000", overview, regisseur, stars,
+                    "img", "img-small", "backdrop", List.of(), List.of()));
+        }
+        searchIndex.index(new Movie("slug-elijah", -1, "slug-elijah", "Elijah", "2010", "overview",
+                "Christopher Nolan", "Elijah Wood", "img", "img-small", "backdrop", List.of(), List.of()));
+        vocabulary.add("elijah");
+        vocabulary.add("christopher");
+
+        // dropped letters in catalog words, which the index corrects, and a word that matches nothing
+        misspelled = new ArrayList<>(List.of("elja", "christophr", "xqzvkw"));
+        for (int i = 0; i < 5; i++) {
+            String word = longWords.get(random.nextInt(longWords.size()));
+            int drop = 1 + random.nextInt(word.length() - 2);
+            misspelled.add(word.substring(0, drop) + word.substring(drop + 1));
+        }
+    }
+
+    @Benchmark
+    public List<Movie> search() {
+        return searchIndex.search(misspelled.get(next++ % misspelled.size()), 2, 50);
+    }
+
+    @Benchmark
+    public List<TrigramIndex.Match> vocabularyLookup() {
+        String term = misspelled.get(next++ % misspelled.size());
+        return vocabulary.lookup(term, TrigramIndex.editBudget(term, 2), 3);
+    }
+
+    private String words(Random random, int count, List<String> longWords) {
+        StringBuilder text = new StringBuilder();
+        for (int w = 0; w < count; w++) {
+            String word = word(random);
+            vocabulary.add(word);
+            if (word.length() >= 6 && longWords.size() < 1000) {
+                longWords.add(word);
+            }
+            text.append(w == 0 ? "" : " ").append(word);
+        }
+        return text.toString();
+    }
+
+    // pronounceable pseudo-words: consonant-vowel syllables, sometimes closed by a consonant
+    private static String word(Random random) {
+        StringBuilder word = new StringBuilder();
+        int syllables = 2 + random.nextInt(3);
+        for (int s = 0; s < syllables; s++) {
+            word.append(CONSONANTS.charAt(random.nextInt(CONSONANTS.length())))
+                    .append(VOWELS.charAt(random.nextInt(VOWELS.length())));
+            if (random.nextInt(4) == 0) {
+                word.append(CONSONANTS.charAt(random.nextInt(CONSONANTS.length())));
+            }
+        }
+        return word.toString();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(TypoSearchBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,86 @@
+package org.example.backend.cache;
+
+import org.example.backend.model.Query;
+import org.example.backend.repo.QueryRepo;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class QueryRegistryTest {
+
+    private QueryRepo queryRepo;
+    private List<Object> events;
+    private QueryRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        queryRepo = mock(QueryRepo.class);
+        events = new ArrayList<>();
+        registry = new QueryRegistry(queryRepo, events::add);
+    }
+
+    @Test
+    void afterPropertiesSet_ShouldFoldDuplicateDocuments() {
+        // GIVEN
+        Instant earlier = Instant.parse("2024-01-01T00:00:00Z");
+        Instant later = Instant.parse("2024-02-01T00:00:00Z");
+        when(queryRepo.findAll()).thenReturn(List.of(
+                new Query("1", "nolan", 3, earlier),
+                new Query("2", "nolan", 2, later),
+                new Query("3", "nolan", 0, null),
+                new Query("4", "heist", 1, earlier)));
+
+        // WHEN
+        registry.afterPropertiesSet();
+
+        // THEN
+        assertTrue(registry.contains("nolan"));
+        assertEquals(2, registry.queries().size());
+        QueryRegistry.QueryUsage usage = registry.usage("nolan").orElseThrow();
+        assertEquals(6, usage.useCount());
+        assertEquals(later, usage.lastUsed());
+        verify(queryRepo).deleteAllById(List.of("2", "3"));
+        verify(queryRepo).recordUse("nolan", 3, later);
+        verify(queryRepo, never()).recordUse(eq("heist"), anyLong(), any());
+        verify(queryRepo).ensureUniqueQueryIndex();
+    }
+
+    @Test
+    void recordUse_ShouldPersistAndAnnounceNewQueriesOnce() {
+        // WHEN
+        registry.recordUse("inception");
+        registry.recordUse("inception");
+
+        // THEN
+        assertEquals(2, registry.usage("inception").orElseThrow().useCount());
+        verify(queryRepo, times(2)).recordUse(eq("inception"), eq(1L), any());
+        assertEquals(List.of(new QueryRegistry.QueryRegisteredEvent("inception")), events);
+    }
+
+    @Test
+    void recordHit_ShouldOnlyBeWrittenOnFlush() {
+        // GIVEN
+        registry.recordUse("inception");
+        clearInvocations(queryRepo);
+
+        // WHEN
+        registry.recordHit("inception");
+        registry.recordHit("inception");
+        registry.recordHit("unknown");
+
+        // THEN
+        verify(queryRepo, never()).recordUse(anyString(), anyLong(), any());
+        registry.flush();
+        verify(queryRepo).recordUse(eq("inception"), eq(2L), any());
+        assertFalse(registry.contains("unknown"));
+    }
+}
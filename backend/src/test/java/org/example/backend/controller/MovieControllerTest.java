@@ -1,30 +1,40 @@
 package org.example.backend.controller;
 
+import org.example.backend.deadline.RequestDeadlines;
 import org.example.backend.model.Movie;
+import org.example.backend.search.SuggestionTrie;
 import org.example.backend.service.MovieAPIService;
+import org.example.backend.service.MovieResults;
 import org.example.backend.service.MovieService;
+import org.example.backend.service.SearchStream;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.server.ResponseStatusException;
 
 
+import java.time.Duration;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
 class MovieControllerTest {
 
     private MovieService movieService;
     private MovieAPIService movieAPIService;
+    private SuggestionTrie suggestionTrie;
     private MovieController movieController;
     private MockMvc mockMvc;
     private ObjectMapper objectMapper;
@@ -33,7 +43,9 @@ class MovieControllerTest {
     void setUp() {
         movieService = mock(MovieService.class);
         movieAPIService = mock(MovieAPIService.class);
-        movieController = new MovieController(movieService, movieAPIService);
+        suggestionTrie = new SuggestionTrie();
+        movieController = new MovieController(movieService, movieAPIService, suggestionTrie, Runnable::run,
+                new RequestDeadlines(Duration.ofSeconds(10), Duration.ofSeconds(20)));
         mockMvc = MockMvcBuilders.standaloneSetup(movieController).build();
         objectMapper = new ObjectMapper();
         objectMapper.findAndRegisterModules();
@@ -188,40 +200,136 @@ class MovieControllerTest {
                 )
         );
 
-        when(movieAPIService.getMoviesOfTheDay(any())).thenReturn(dailyMovies);
+        when(movieAPIService.getMoviesOfTheDay(isNull(), any())).thenReturn(MovieResults.complete(dailyMovies));
 
         // WHEN & THEN
         mockMvc.perform(get("/api/movies/daily"))
                 .andExpect(status().isOk())
                 .andExpect(content().json(objectMapper.writeValueAsString(dailyMovies)));
 
-        verify(movieAPIService).getMoviesOfTheDay(any());
+        verify(movieAPIService).getMoviesOfTheDay(isNull(), any());
     }
 
     @Test
     void getDailyMovies_ShouldReturnEmptyList_WhenNoMoviesAvailable() throws Exception {
         // GIVEN
-        when(movieAPIService.getMoviesOfTheDay(any())).thenReturn(List.of());
+        when(movieAPIService.getMoviesOfTheDay(isNull(), any())).thenReturn(MovieResults.complete(List.of()));
 
         // WHEN & THEN
         mockMvc.perform(get("/api/movies/daily"))
                 .andExpect(status().isOk())
                 .andExpect(content().json("[]")); // Expecting an empty JSON array
 
-        verify(movieAPIService).getMoviesOfTheDay(any());
+        verify(movieAPIService).getMoviesOfTheDay(isNull(), any());
+    }
+
+    @Test
+    void searchMovies_ShouldMarkPartialResultsAndPassShorterDeadline() throws Exception {
+        // GIVEN
+        Movie movie = new Movie("1", 101, "slug-1", "First", "2008", "", "", "", "", "", "", List.of("q"), List.of());
+        when(movieAPIService.searchMovies(eq("nolan"), any())).thenReturn(new MovieResults(List.of(movie), true));
+
+        // WHEN & THEN
+        mockMvc.perform(get("/api/movies/search").param("query", "nolan")
+                        .header(RequestDeadlines.TIMEOUT_HEADER, "500"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(RequestDeadlines.PARTIAL_HEADER, "true"))
+                .andExpect(header().string("Cache-Control", "no-store"))
+                .andExpect(jsonPath("$[0].slug").value("slug-1"));
+
+        verify(movieAPIService).searchMovies(eq("nolan"), argThat(deadline ->
+                deadline.isBounded() && deadline.remaining().compareTo(Duration.ofMillis(500)) <= 0));
+    }
+
+    @Test
+    void suggest_ShouldReturnCompletionsWithoutCallingServices() throws Exception {
+        // GIVEN
+        suggestionTrie.addMovie(new Movie("1", 101, "slug-movie-1", "The Dark Knight", "2008", "", "", "",
+                "", "", "", List.of(), List.of()));
+        suggestionTrie.addQuery("knightley");
+
+        // WHEN & THEN
+        mockMvc.perform(get("/api/movies/suggest").param("prefix", "kni"))
+                .andExpect(status().isOk())
+                .andExpect(content().json("[\"The Dark Knight\", \"knightley\"]"));
+
+        verifyNoInteractions(movieService, movieAPIService);
+    }
+
+    @Test
+    void streamSearch_ShouldSendEachMovieThenCompletion() throws Exception {
+        // GIVEN
+        Movie first = new Movie("1", 101, "slug-1", "First", "2008", "", "", "", "", "", "", List.of("q"), List.of());
+        Movie second = new Movie("2", 102, "slug-2", "Second", "2009", "", "", "", "", "", "", List.of("q"), List.of());
+        when(movieAPIService.openSearchStream(eq("nolan"), any())).thenReturn(onMovie -> {
+            onMovie.accept(first);
+            onMovie.accept(second);
+            return new SearchStream.Result(List.of(first, second), 3, true, false);
+        });
+
+        // WHEN
+        MvcResult result = mockMvc.perform(get("/api/movies/search/stream").param("query", "nolan"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String body = result.getResponse().getContentAsString();
+
+        // THEN
+        assertTrue(body.indexOf("event:movie\nid:slug-1") < body.indexOf("event:movie\nid:slug-2"));
+        assertTrue(body.contains("event:complete"));
+        assertTrue(body.contains("\"total\":2"));
+        assertTrue(body.contains("\"skipped\":3"));
+        assertTrue(body.indexOf("event:movie\nid:slug-2") < body.indexOf("event:complete"));
+    }
+
+    @Test
+    void streamSearch_ShouldKeepRunning_WhenClientDisconnects() {
+        // GIVEN
+        Movie first = new Movie("1", 101, "slug-1", "First", "2008", "", "", "", "", "", "", List.of("q"), List.of());
+        List<Movie> delivered = new java.util.ArrayList<>();
+        when(movieAPIService.openSearchStream(eq("nolan"), any())).thenReturn(onMovie -> {
+            onMovie.accept(first);
+            delivered.add(first);
+            onMovie.accept(first);
+            delivered.add(first);
+            return new SearchStream.Result(List.of(first, first), 0, true, false);
+        });
+
+        // WHEN: the emitter was never attached to a response, so every send fails
+        movieController.streamSearch("nolan", null);
+
+        // THEN
+        assertEquals(2, delivered.size());
+    }
+
+    @Test
+    void streamSearch_ShouldDiscardStream_WhenExecutorIsFull() {
+        // GIVEN
+        SearchStream stream = mock(SearchStream.class);
+        when(movieAPIService.openSearchStream(eq("nolan"), any())).thenReturn(stream);
+        movieController = new MovieController(movieService, movieAPIService, suggestionTrie,
+                task -> { throw new RejectedExecutionException(); },
+                new RequestDeadlines(Duration.ofSeconds(10), Duration.ofSeconds(20)));
+
+        // WHEN
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> movieController.streamSearch("nolan", null));
+
+        // THEN
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, exception.getStatusCode());
+        verify(stream).discard();
+        verify(stream, never()).run(any());
     }
 
     @Test
     void getMoviesOfTheDay_ShouldHandleExceptionAndReturnEmptyList() {
         // GIVEN
-        List<String> queries = List.of("Inception");
-        when(movieAPIService.getMoviesOfTheDay(queries)).thenThrow(new RuntimeException("Database error"));
+        when(movieAPIService.getMoviesOfTheDay(isNull(), any())).thenThrow(new RuntimeException("Database error"));
 
         // WHEN
-        ResponseEntity<List<Movie>> response = movieController.getDailyMovies();
+        ResponseEntity<List<Movie>> response = movieController.getDailyMovies(null);
 
         // THEN
-        assertEquals(HttpStatus.OK, response.getStatusCode()); // Verify HTTP 500 status
+        assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, response.getStatusCode()); // Verify HTTP 500 status
         assertEquals(List.of(), response.getBody()); // Verify the body contains an empty list
     }
 }
@@ -0,0 +1,84 @@
+package org.example.backend.controller;
+
+import org.example.backend.dtos.netzkino.NetzkinoResponse;
+import org.example.backend.ratelimit.UpstreamRateLimiter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+/**
+ * Per-client rate limiting end to end, on a real server: the client address comes from
+ * {@code X-Forwarded-For}, which only Tomcat's remote IP handling reads, so this can't run on
+ * MockMvc. Netzkino is mocked out, so every search here is an upstream search and is charged.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@TestPropertySource(properties = {
+        "TMDB_API_KEY=dummy-api-key",
+        "NETZKINO_ENV=test-environment",
+        "movies.ratelimit.burst-capacity=2"
+})
+class SearchRateLimitIntegrationTest {
+
+    @Autowired
+    private TestRestTemplate client;
+
+    @MockitoBean
+    private RestTemplate restTemplate;
+
+    @BeforeEach
+    void setUp() {
+        NetzkinoResponse empty = new NetzkinoResponse(List.of(), "", "success", 0, 0, 0, 0, List.of(), "", 0, 0);
+        when(restTemplate.getForEntity(anyString(), eq(NetzkinoResponse.class), anyMap()))
+                .thenReturn(ResponseEntity.ok(empty));
+    }
+
+    @Test
+    void search_ShouldLimitEachClientSeparately() {
+        // GIVEN: the first client uses up its burst of two upstream searches
+        ResponseEntity<String> first = search("zebra", "203.0.113.10");
+        ResponseEntity<String> second = search("quokka", "203.0.113.10");
+
+        // WHEN
+        ResponseEntity<String> rejected = search("walrus", "203.0.113.10");
+        ResponseEntity<String> otherClient = search("narwhal", "198.51.100.20");
+
+        // THEN
+        assertEquals(HttpStatus.OK, first.getStatusCode());
+        assertEquals("1", first.getHeaders().getFirst(UpstreamRateLimiter.REMAINING_HEADER));
+        assertEquals(HttpStatus.OK, second.getStatusCode());
+        assertEquals("0", second.getHeaders().getFirst(UpstreamRateLimiter.REMAINING_HEADER));
+
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, rejected.getStatusCode());
+        assertEquals("0", rejected.getHeaders().getFirst(UpstreamRateLimiter.REMAINING_HEADER));
+        long retryAfter = Long.parseLong(rejected.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+        assertTrue(retryAfter >= 1 && retryAfter <= 6, "Retry-After " + retryAfter + "s");
+
+        assertEquals(HttpStatus.OK, otherClient.getStatusCode());
+        assertEquals("1", otherClient.getHeaders().getFirst(UpstreamRateLimiter.REMAINING_HEADER));
+    }
+
+    private ResponseEntity<String> search(String query, String forwardedFor) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("X-Forwarded-For", forwardedFor);
+        return client.exchange("/api/movies/search?query={query}", HttpMethod.GET, new HttpEntity<>(headers),
+                String.class, query);
+    }
+}
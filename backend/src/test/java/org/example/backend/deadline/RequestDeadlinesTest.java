@@ -0,0 +1,50 @@
+package org.example.backend.deadline;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestDeadlinesTest {
+
+    private final RequestDeadlines requestDeadlines = new RequestDeadlines(Duration.ofSeconds(10), Duration.ZERO);
+
+    @Test
+    void forSearch_ShouldOnlyLetClientsShortenTheBudget() {
+        // WHEN
+        Deadline shorter = requestDeadlines.forSearch("200");
+        Deadline longer = requestDeadlines.forSearch("60000");
+        Deadline malformed = requestDeadlines.forSearch("soon");
+
+        // THEN
+        assertTrue(shorter.remaining().compareTo(Duration.ofMillis(200)) <= 0);
+        assertTrue(longer.remaining().compareTo(Duration.ofSeconds(10)) <= 0);
+        assertTrue(longer.remaining().compareTo(Duration.ofSeconds(9)) > 0);
+        assertTrue(malformed.remaining().compareTo(Duration.ofSeconds(9)) > 0);
+    }
+
+    @Test
+    void forDaily_ShouldBeUnbounded_WhenBudgetIsZero() {
+        // WHEN
+        Deadline deadline = requestDeadlines.forDaily(null);
+
+        // THEN
+        assertFalse(deadline.isBounded());
+        assertFalse(deadline.isExpired());
+    }
+
+    @Test
+    void call_ShouldBindDeadlineOnlyForTheUpstreamCall() {
+        // GIVEN
+        Deadline deadline = Deadline.after(Duration.ofSeconds(5));
+
+        // WHEN
+        Deadline bound = deadline.call(() -> Deadline.current().orElseThrow());
+
+        // THEN
+        assertSame(deadline, bound);
+        assertTrue(Deadline.current().isEmpty());
+        assertTrue(Deadline.after(Duration.ZERO).isExpired());
+    }
+}
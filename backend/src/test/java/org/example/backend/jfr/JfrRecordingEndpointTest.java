@@ -0,0 +1,36 @@
+package org.example.backend.jfr;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.core.io.Resource;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JfrRecordingEndpointTest {
+
+    private final JfrRecordingEndpoint endpoint = new JfrRecordingEndpoint(Duration.ofMinutes(1));
+
+    @Test
+    void record_ShouldReturnRecordingFile() throws Exception {
+        // WHEN
+        WebEndpointResponse<Resource> response = endpoint.record("default", Duration.ofMillis(200));
+
+        // THEN: a JFR chunk starts with the magic bytes "FLR\0"
+        assertEquals(200, response.getStatus());
+        byte[] file = response.getBody().getContentAsByteArray();
+        assertArrayEquals(new byte[]{'F', 'L', 'R', 0}, Arrays.copyOf(file, 4));
+    }
+
+    @Test
+    void record_ShouldRejectUnknownProfile() throws Exception {
+        assertEquals(400, endpoint.record("no-such-profile", Duration.ofSeconds(1)).getStatus());
+    }
+
+    @Test
+    void record_ShouldRejectDurationsAboveMaximum() throws Exception {
+        assertEquals(400, endpoint.record("profile", Duration.ofMinutes(2)).getStatus());
+    }
+}
@@ -0,0 +1,77 @@
+package org.example.backend.jfr;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestTemplate;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+class UpstreamCallRecorderTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void intercept_ShouldRecordUpstreamStatusAndBytesRead() throws Exception {
+        // GIVEN
+        RestTemplate restTemplate = new RestTemplate();
+        restTemplate.getInterceptors().add(new UpstreamCallRecorder());
+        MockRestServiceServer server = MockRestServiceServer.bindTo(restTemplate).build();
+        server.expect(requestTo("https://api.themoviedb.org/3/find/tt0133093"))
+                .andRespond(withSuccess("{\"movie_results\":[]}", MediaType.APPLICATION_JSON));
+        server.expect(requestTo("https://api.themoviedb.org/3/find/tt0000000"))
+                .andRespond(withStatus(HttpStatus.NOT_FOUND));
+
+        // WHEN
+        List<RecordedEvent> events;
+        try (Recording recording = new Recording()) {
+            recording.enable(UpstreamCallEvent.NAME);
+            recording.start();
+            restTemplate.getForObject("https://api.themoviedb.org/3/find/tt0133093", String.class);
+            assertThrows(Exception.class,
+                    () -> restTemplate.getForObject("https://api.themoviedb.org/3/find/tt0000000", String.class));
+            recording.stop();
+            Path file = tempDir.resolve("upstream.jfr");
+            recording.dump(file);
+            events = RecordingFile.readAllEvents(file);
+        }
+
+        // THEN
+        assertEquals(2, events.size());
+        RecordedEvent found = events.get(0);
+        assertEquals("api.themoviedb.org", found.getString("upstream"));
+        assertEquals("GET", found.getString("method"));
+        assertEquals(200, found.getInt("status"));
+        assertEquals("{\"movie_results\":[]}".length(), found.getLong("bytes"));
+        assertEquals(404, events.get(1).getInt("status"));
+    }
+
+    @Test
+    void intercept_ShouldPassResponseThroughWhenEventIsDisabled() {
+        // GIVEN
+        RestTemplate restTemplate = new RestTemplate();
+        restTemplate.getInterceptors().add(new UpstreamCallRecorder());
+        MockRestServiceServer server = MockRestServiceServer.bindTo(restTemplate).build();
+        server.expect(requestTo("https://api.netzkino.de.simplecache.net/capi-2.0a/search"))
+                .andRespond(withSuccess("{}", MediaType.APPLICATION_JSON));
+
+        // WHEN
+        String body = restTemplate.getForObject("https://api.netzkino.de.simplecache.net/capi-2.0a/search", String.class);
+
+        // THEN
+        assertEquals("{}", body);
+        server.verify();
+    }
+}
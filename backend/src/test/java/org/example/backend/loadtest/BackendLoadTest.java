@@ -0,0 +1,140 @@
+package org.example.backend.loadtest;
+
+import org.example.backend.model.Movie;
+import org.example.backend.model.User;
+import org.example.backend.repo.MovieRepo;
+import org.example.backend.repo.UserRepo;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.TestPropertySource;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Mixed traffic against the whole backend (embedded Mongo, stubbed Netzkino and TMDB) with
+ * assertions on p99 latency per operation, throughput and error rate. Tagged {@code load}, so it
+ * only runs with {@code mvn -Ploadtest test}; every knob is a system property, e.g.
+ * {@code -Dloadtest.duration=2m -Dloadtest.users=32 -Dloadtest.stub.p99-latency=1s
+ * -Dloadtest.slo.p99.search-hit=50ms}.
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@TestPropertySource(properties = {
+        "TMDB_API_KEY=dummy-api-key",
+        "NETZKINO_ENV=test-environment",
+        // measure the backend, not the per-client limits that all virtual users on localhost share
+        "movies.ratelimit.burst-capacity=1000000",
+        "movies.ratelimit.sustained-capacity=1000000",
+        "movies.ratelimit.global.capacity=1000000",
+        "movies.jfr.stream.enabled=false"
+})
+class BackendLoadTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(BackendLoadTest.class);
+
+    private static final String GITHUB_ID = "load-test-user";
+    private static final List<String> WARM_QUERIES = List.of("berlin", "drama", "klassiker", "komoedie", "heist",
+            "nolan", "matrix", "lenin");
+    private static final Map<String, String> P99_OBJECTIVES = Map.of(
+            "search-hit", "150ms",
+            "search-miss", "8s",
+            "daily", "200ms",
+            "slug", "100ms",
+            "watchlist", "200ms");
+
+    private static UpstreamStubs stubs;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private MovieRepo movieRepo;
+
+    @Autowired
+    private UserRepo userRepo;
+
+    @DynamicPropertySource
+    static void upstreams(DynamicPropertyRegistry registry) throws IOException {
+        stubs = UpstreamStubs.start(UpstreamStubs.Profile.fromSystemProperties());
+        registry.add("movies.upstream.netzkino-url", stubs::netzkinoUrl);
+        registry.add("movies.upstream.tmdb-url", stubs::tmdbUrl);
+    }
+
+    @AfterAll
+    static void stopStubs() {
+        if (stubs != null) {
+            stubs.close();
+        }
+    }
+
+    @Test
+    void mixedTraffic_ShouldMeetLatencyAndThroughputObjectives() throws InterruptedException {
+        // GIVEN: cached queries, stored movies and a watchlist to read
+        LoadDriver warmUp = new LoadDriver("http://localhost:" + port, List.of());
+        WARM_QUERIES.forEach(query -> assertEquals(200, warmUp.send("/api/movies/search?query=" + query)));
+        assertEquals(200, warmUp.send("/api/movies/daily"));
+        List<String> slugs = movieRepo.findAll().stream().map(Movie::slug).toList();
+        assertFalse(slugs.isEmpty(), "warm-up stored no movies");
+        userRepo.save(new User(null, GITHUB_ID, "load test", new ArrayList<>(slugs.subList(0, Math.min(20, slugs.size())))));
+
+        long searchCallsBefore = stubs.searchCalls();
+        LoadDriver driver = new LoadDriver("http://localhost:" + port, List.of(
+                new LoadDriver.Operation("search-hit", 40, () -> "/api/movies/search?query=" + any(WARM_QUERIES)),
+                new LoadDriver.Operation("search-miss", 5, () -> "/api/movies/search?query=" + randomLetters(8)),
+                new LoadDriver.Operation("daily", 15, () -> "/api/movies/daily"),
+                new LoadDriver.Operation("slug", 30, () -> "/api/movies/" + any(slugs)),
+                new LoadDriver.Operation("watchlist", 10, () -> "/api/users/watchlist/" + GITHUB_ID)));
+
+        // WHEN
+        LoadReport report = driver.run(Integer.getInteger("loadtest.users", 16),
+                UpstreamStubs.duration("loadtest.duration", "30s"));
+
+        // THEN
+        logger.info("Load test results ({} Netzkino and {} TMDB calls):\n{}", stubs.searchCalls(), stubs.findCalls(), report);
+        P99_OBJECTIVES.forEach((operation, fallback) -> {
+            Duration objective = UpstreamStubs.duration("loadtest.slo.p99." + operation, fallback);
+            assertTrue(report.count(operation) > 0, operation + " was never sent");
+            assertTrue(report.percentile(operation, 99).compareTo(objective) <= 0,
+                    operation + " p99 " + report.percentile(operation, 99).toMillis() + " ms exceeds " + objective.toMillis() + " ms");
+        });
+        // random words are too far apart for the typo rewrite, so every miss must have gone upstream
+        long misses = report.count("search-miss");
+        long upstreamSearches = stubs.searchCalls() - searchCallsBefore;
+        assertTrue(upstreamSearches >= misses * 0.95,
+                upstreamSearches + " Netzkino searches for " + misses + " misses");
+        double minThroughput = Double.parseDouble(System.getProperty("loadtest.slo.min-throughput", "100"));
+        assertTrue(report.throughput() >= minThroughput,
+                String.format("%.1f req/s is below %.1f req/s", report.throughput(), minThroughput));
+        double maxErrorRate = Double.parseDouble(System.getProperty("loadtest.slo.max-error-rate", "0.01"));
+        assertTrue(report.errorRate() <= maxErrorRate,
+                String.format("error rate %.4f exceeds %.4f", report.errorRate(), maxErrorRate));
+    }
+
+    private static String any(List<String> values) {
+        return values.get(ThreadLocalRandom.current().nextInt(values.size()));
+    }
+
+    // search queries may only contain a-z
+    private static String randomLetters(int length) {
+        StringBuilder letters = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            letters.append((char) ('a' + ThreadLocalRandom.current().nextInt(26)));
+        }
+        return letters.toString();
+    }
+}
@@ -0,0 +1,91 @@
+package org.example.backend.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Closed-loop load: each virtual user picks an operation by weight, waits for its response and
+ * goes again, so throughput is whatever the backend sustains at that concurrency.
+ */
+final class LoadDriver {
+
+    record Operation(String name, int weight, Supplier<String> path) {
+    }
+
+    private final String baseUrl;
+    private final List<Operation> operations;
+    private final int totalWeight;
+    private final HttpClient client = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    LoadDriver(String baseUrl, List<Operation> operations) {
+        this.baseUrl = baseUrl;
+        this.operations = List.copyOf(operations);
+        this.totalWeight = operations.stream().mapToInt(Operation::weight).sum();
+    }
+
+    LoadReport run(int users, Duration duration) throws InterruptedException {
+        Map<String, LoadReport.Recorder> recorders = new ConcurrentHashMap<>();
+        operations.forEach(operation -> recorders.put(operation.name(), new LoadReport.Recorder()));
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+
+        ExecutorService pool = Executors.newFixedThreadPool(users);
+        for (int i = 0; i < users; i++) {
+            pool.execute(() -> {
+                while (System.nanoTime() < end) {
+                    Operation operation = pick();
+                    recorders.get(operation.name()).record(send(operation));
+                }
+            });
+        }
+        pool.shutdown();
+        if (!pool.awaitTermination(duration.toSeconds() + 60, TimeUnit.SECONDS)) {
+            pool.shutdownNow();
+        }
+        return new LoadReport(recorders, Duration.ofNanos(System.nanoTime() - start));
+    }
+
+    // sends a request outside of measurement, e.g. to warm a cache
+    int send(String path) {
+        return send(new Operation("setup", 1, () -> path)).status();
+    }
+
+    private LoadReport.Sample send(Operation operation) {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + operation.path().get()))
+                .timeout(Duration.ofSeconds(30))
+                .GET()
+                .build();
+        long began = System.nanoTime();
+        int status;
+        try {
+            status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        } catch (Exception e) {
+            status = -1;
+        }
+        return new LoadReport.Sample(status, System.nanoTime() - began);
+    }
+
+    private Operation pick() {
+        int ticket = ThreadLocalRandom.current().nextInt(totalWeight);
+        for (Operation operation : operations) {
+            ticket -= operation.weight();
+            if (ticket < 0) {
+                return operation;
+            }
+        }
+        return operations.get(operations.size() - 1);
+    }
+}
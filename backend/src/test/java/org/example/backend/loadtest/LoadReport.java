@@ -0,0 +1,80 @@
+package org.example.backend.loadtest;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Latencies and status codes per operation of one {@link LoadDriver} run.
+ */
+final class LoadReport {
+
+    record Sample(int status, long nanos) {
+        boolean failed() {
+            return status < 200 || status >= 300;
+        }
+    }
+
+    static final class Recorder {
+        private final ConcurrentLinkedQueue<Sample> samples = new ConcurrentLinkedQueue<>();
+
+        void record(Sample sample) {
+            samples.add(sample);
+        }
+    }
+
+    private final Map<String, long[]> sortedLatencies = new TreeMap<>();
+    private final Map<String, Long> errors = new TreeMap<>();
+    private final Duration elapsed;
+
+    LoadReport(Map<String, Recorder> recorders, Duration elapsed) {
+        this.elapsed = elapsed;
+        recorders.forEach((name, recorder) -> {
+            long[] latencies = recorder.samples.stream().mapToLong(Sample::nanos).sorted().toArray();
+            sortedLatencies.put(name, latencies);
+            errors.put(name, recorder.samples.stream().filter(Sample::failed).count());
+        });
+    }
+
+    long count(String operation) {
+        return sortedLatencies.get(operation).length;
+    }
+
+    Duration percentile(String operation, double percentile) {
+        long[] latencies = sortedLatencies.get(operation);
+        if (latencies.length == 0) {
+            return Duration.ZERO;
+        }
+        int index = (int) Math.ceil(percentile / 100 * latencies.length) - 1;
+        return Duration.ofNanos(latencies[Math.max(0, index)]);
+    }
+
+    long totalRequests() {
+        return sortedLatencies.values().stream().mapToLong(latencies -> latencies.length).sum();
+    }
+
+    double throughput() {
+        return totalRequests() / (elapsed.toNanos() / 1e9);
+    }
+
+    double errorRate() {
+        long total = totalRequests();
+        return total == 0 ? 0 : errors.values().stream().mapToLong(Long::longValue).sum() / (double) total;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder table = new StringBuilder(String.format("%-14s %8s %8s %10s %10s %10s%n",
+                "operation", "requests", "errors", "p50 ms", "p99 ms", "max ms"));
+        sortedLatencies.forEach((name, latencies) -> table.append(String.format("%-14s %8d %8d %10.1f %10.1f %10.1f%n",
+                name, latencies.length, errors.get(name),
+                millis(percentile(name, 50)), millis(percentile(name, 99)), millis(percentile(name, 100)))));
+        table.append(String.format("%.1f req/s over %s, error rate %.2f%%", throughput(), elapsed, errorRate() * 100));
+        return table.toString();
+    }
+
+    private static double millis(Duration duration) {
+        return duration.toNanos() / 1e6;
+    }
+}
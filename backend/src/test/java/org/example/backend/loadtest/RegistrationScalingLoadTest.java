@@ -0,0 +1,88 @@
+package org.example.backend.loadtest;
+
+import org.example.backend.repo.UserRepo;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Login registrations against embedded Mongo at one and at several threads. Registration is a
+ * single upsert with no lock around it, so throughput has to grow with the threads. The ratio is
+ * only asserted loosely, since it depends on the cores of the machine. Tagged {@code load}, so it
+ * runs with {@code mvn -Ploadtest test}; {@code -Dloadtest.registration.threads=8} and
+ * {@code -Dloadtest.registration.min-speedup=3} tighten it on larger machines.
+ */
+@Tag("load")
+@DataMongoTest
+class RegistrationScalingLoadTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(RegistrationScalingLoadTest.class);
+
+    private static final int USERS = 50;
+    private static final int LOGINS = 4000;
+
+    @Autowired
+    private UserRepo userRepo;
+
+    @BeforeEach
+    void setUp() {
+        userRepo.deleteAll();
+        userRepo.ensureUniqueGithubIdIndex();
+    }
+
+    @Test
+    void registerIfAbsent_ShouldScaleWithThreads() throws Exception {
+        // GIVEN: repeat logins of known users, the common case
+        List<String> logins = new ArrayList<>();
+        for (int i = 0; i < LOGINS; i++) {
+            logins.add("user-" + (i % USERS));
+        }
+        int threads = Integer.getInteger("loadtest.registration.threads", 4);
+        double minSpeedup = Double.parseDouble(System.getProperty("loadtest.registration.min-speedup", "1.5"));
+        // warms up the connection pool and the JIT
+        run(logins, threads);
+
+        // WHEN
+        double serial = run(logins, 1);
+        double parallel = run(logins, threads);
+
+        // THEN
+        logger.info("{} logins: {} per second on 1 thread, {} per second on {} threads",
+                LOGINS, Math.round(serial), Math.round(parallel), threads);
+        assertTrue(parallel >= serial * minSpeedup, String.format(
+                "%d threads reached %.0f logins/s, less than %.1fx the %.0f logins/s of one thread",
+                threads, parallel, minSpeedup, serial));
+        assertEquals(USERS, userRepo.count());
+    }
+
+    // logins per second
+    private double run(List<String> logins, int threads) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        long start = System.nanoTime();
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (String githubId : logins) {
+                futures.add(executor.submit(() -> userRepo.registerIfAbsent(githubId, "login-" + githubId)));
+            }
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        return logins.size() * 1e9 / (System.nanoTime() - start);
+    }
+}
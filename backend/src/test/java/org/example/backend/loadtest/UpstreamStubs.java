@@ -0,0 +1,192 @@
+package org.example.backend.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.springframework.boot.convert.DurationStyle;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Local stand-ins for Netzkino's {@code /capi-2.0a/search} and TMDB's {@code /3/find/{imdbId}}.
+ * Latency follows a log-normal distribution given by its median and p99, a share of calls fails
+ * with 500, and search responses carry a configurable number of posts. Posts are copied from the
+ * recorded payload in {@code src/test/resources/payloads} with slugs and IMDb ids derived from
+ * the query, so every new query brings new movies and one TMDB lookup per post.
+ */
+final class UpstreamStubs implements AutoCloseable {
+
+    static final String SEARCH_PATH = "/capi-2.0a/search";
+    static final String FIND_PATH = "/3/find/";
+
+    // z-score of the 99th percentile of the standard normal distribution
+    private static final double Z_99 = 2.3263;
+
+    record Profile(Duration medianLatency, Duration p99Latency, double netzkinoErrorRate, double tmdbErrorRate,
+                   int postsPerSearch, int extraContentBytes) {
+
+        static Profile fromSystemProperties() {
+            return new Profile(
+                    duration("loadtest.stub.median-latency", "50ms"),
+                    duration("loadtest.stub.p99-latency", "300ms"),
+                    Double.parseDouble(System.getProperty("loadtest.stub.netzkino-error-rate", "0")),
+                    Double.parseDouble(System.getProperty("loadtest.stub.tmdb-error-rate", "0.02")),
+                    Integer.getInteger("loadtest.stub.posts", 40),
+                    Integer.getInteger("loadtest.stub.extra-content-bytes", 0));
+        }
+    }
+
+    private final HttpServer server;
+    private final Profile profile;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final JsonNode searchTemplate;
+    private final byte[] findPayload;
+    private final AtomicLong searchCalls = new AtomicLong();
+    private final AtomicLong findCalls = new AtomicLong();
+
+    private UpstreamStubs(Profile profile) throws IOException {
+        this.profile = profile;
+        this.searchTemplate = objectMapper.readTree(payload("netzkino-search.json"));
+        this.findPayload = payload("tmdb-find.json");
+        this.server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext(SEARCH_PATH, this::search);
+        server.createContext(FIND_PATH, this::find);
+        // latency is simulated by sleeping, which must not hold back other calls
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+    }
+
+    static UpstreamStubs start(Profile profile) throws IOException {
+        UpstreamStubs stubs = new UpstreamStubs(profile);
+        stubs.server.start();
+        return stubs;
+    }
+
+    String netzkinoUrl() {
+        return baseUrl() + SEARCH_PATH;
+    }
+
+    String tmdbUrl() {
+        return baseUrl() + FIND_PATH;
+    }
+
+    long searchCalls() {
+        return searchCalls.get();
+    }
+
+    long findCalls() {
+        return findCalls.get();
+    }
+
+    private String baseUrl() {
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+
+    private void search(HttpExchange exchange) throws IOException {
+        searchCalls.incrementAndGet();
+        if (delayOrFail(exchange, profile.netzkinoErrorRate())) {
+            return;
+        }
+        String query = queryParameter(exchange.getRequestURI().getRawQuery(), "q");
+        respond(exchange, objectMapper.writeValueAsBytes(searchResponse(query)));
+    }
+
+    private void find(HttpExchange exchange) throws IOException {
+        findCalls.incrementAndGet();
+        if (delayOrFail(exchange, profile.tmdbErrorRate())) {
+            return;
+        }
+        respond(exchange, findPayload);
+    }
+
+    private ObjectNode searchResponse(String query) {
+        ObjectNode response = searchTemplate.deepCopy();
+        ArrayNode templatePosts = (ArrayNode) searchTemplate.get("posts");
+        ArrayNode posts = response.putArray("posts");
+        String padding = "x".repeat(profile.extraContentBytes());
+        int seed = Math.abs(query.hashCode() % 100_000);
+        for (int i = 0; i < profile.postsPerSearch(); i++) {
+            ObjectNode post = templatePosts.get(i % templatePosts.size()).deepCopy();
+            String slug = query + "-" + i;
+            post.put("id", seed * 1000 + i);
+            post.put("slug", slug);
+            post.put("title", query + " " + i);
+            post.put("content", post.get("content").asText() + padding);
+            ((ObjectNode) post.get("custom_fields")).putArray("IMDb-Link")
+                    .add("https://www.imdb.com/title/tt" + (1_000_000 + seed * 100 + i) + "/");
+            posts.add(post);
+        }
+        response.putArray("_qryArr").add(query);
+        response.put("searchTerm", query);
+        response.put("count", posts.size());
+        response.put("count_total", posts.size());
+        response.put("post_count", posts.size());
+        return response;
+    }
+
+    private boolean delayOrFail(HttpExchange exchange, double errorRate) throws IOException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        double sigma = Math.log((double) profile.p99Latency().toNanos() / profile.medianLatency().toNanos()) / Z_99;
+        long latencyNanos = (long) (profile.medianLatency().toNanos() * Math.exp(sigma * random.nextGaussian()));
+        try {
+            Thread.sleep(Duration.ofNanos(latencyNanos));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (random.nextDouble() < errorRate) {
+            exchange.sendResponseHeaders(500, -1);
+            exchange.close();
+            return true;
+        }
+        return false;
+    }
+
+    private static void respond(HttpExchange exchange, byte[] body) throws IOException {
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private static String queryParameter(String rawQuery, String name) {
+        if (rawQuery != null) {
+            for (String pair : rawQuery.split("&")) {
+                int eq = pair.indexOf('=');
+                if (eq > 0 && pair.substring(0, eq).equals(name)) {
+                    return URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8);
+                }
+            }
+        }
+        return "";
+    }
+
+    private static byte[] payload(String name) throws IOException {
+        try (InputStream in = UpstreamStubs.class.getResourceAsStream("/payloads/" + name)) {
+            if (in == null) {
+                throw new IllegalStateException("Missing payload " + name);
+            }
+            return in.readAllBytes();
+        }
+    }
+
+    static Duration duration(String property, String defaultValue) {
+        return DurationStyle.detectAndParse(System.getProperty(property, defaultValue));
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+}
@@ -0,0 +1,34 @@
+package org.example.backend.observability;
+
+import io.micrometer.common.KeyValues;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.observation.ClientRequestObservationContext;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+
+import java.net.URI;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QueryFreeClientRequestObservationConventionTest {
+
+    private final QueryFreeClientRequestObservationConvention convention = new QueryFreeClientRequestObservationConvention();
+
+    @Test
+    void keyValues_ShouldNotContainQueryParameters() {
+        // GIVEN
+        ClientRequestObservationContext context = new ClientRequestObservationContext(new MockClientHttpRequest(HttpMethod.GET,
+                URI.create("https://api.themoviedb.org/3/find/tt0133093?api_key=secret&language=de&external_source=imdb_id")));
+        context.setUriTemplate("https://api.themoviedb.org/3/find/{imdbId}?api_key={apiKey}&language=de&external_source=imdb_id");
+
+        // WHEN
+        KeyValues low = convention.getLowCardinalityKeyValues(context);
+        KeyValues high = convention.getHighCardinalityKeyValues(context);
+
+        // THEN
+        assertEquals("/3/find/{imdbId}", low.stream().filter(kv -> kv.getKey().equals("uri")).findFirst().orElseThrow().getValue());
+        assertEquals("https://api.themoviedb.org/3/find/tt0133093",
+                high.stream().filter(kv -> kv.getKey().equals("http.url")).findFirst().orElseThrow().getValue());
+        assertTrue(low.and(high).stream().noneMatch(kv -> kv.getValue().contains("secret")));
+    }
+}
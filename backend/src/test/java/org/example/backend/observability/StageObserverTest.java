@@ -0,0 +1,56 @@
+package org.example.backend.observability;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.observation.DefaultMeterObservationHandler;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StageObserverTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private StageObserver stageObserver;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        ObservationRegistry observationRegistry = ObservationRegistry.create();
+        observationRegistry.observationConfig().observationHandler(new DefaultMeterObservationHandler(meterRegistry));
+        stageObserver = new StageObserver(observationRegistry);
+    }
+
+    @Test
+    void observe_ShouldTimeStageTaggedWithOutcome() {
+        // WHEN
+        String backdrop = stageObserver.observe("search", "tmdb", () -> "N/A",
+                result -> "N/A".equals(result) ? "not_found" : "found");
+
+        // THEN
+        assertEquals("N/A", backdrop);
+        Timer timer = meterRegistry.get(StageObserver.NAME)
+                .tag("pipeline", "search")
+                .tag("stage", "tmdb")
+                .tag("outcome", "not_found")
+                .timer();
+        assertEquals(1, timer.count());
+    }
+
+    @Test
+    void observe_ShouldTagFailuresAsErrorAndRethrow() {
+        // WHEN
+        assertThrows(IllegalStateException.class, () -> stageObserver.observe("daily", "netzkino", () -> {
+            throw new IllegalStateException("upstream down");
+        }));
+
+        // THEN
+        Timer timer = meterRegistry.get(StageObserver.NAME)
+                .tag("stage", "netzkino")
+                .tag("outcome", "error")
+                .tag("error", "IllegalStateException")
+                .timer();
+        assertEquals(1, timer.count());
+    }
+}
@@ -0,0 +1,100 @@
+package org.example.backend.ratelimit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.backend.exceptions.ServiceOverloadedException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private AdaptiveConcurrencyLimiter limiter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        limiter = new AdaptiveConcurrencyLimiter(meterRegistry, 2, 1, 10, 1.0, Duration.ofSeconds(3));
+    }
+
+    @Test
+    void acquire_ShouldShedRequestsOverTheLimit() {
+        // GIVEN
+        AdaptiveConcurrencyLimiter.Permit first = limiter.acquire();
+        limiter.acquire();
+
+        // WHEN
+        ServiceOverloadedException exception = assertThrows(ServiceOverloadedException.class, limiter::acquire);
+
+        // THEN
+        assertEquals(Duration.ofSeconds(3), exception.getRetryAfter());
+        assertEquals(1, meterRegistry.get("movies.concurrency.requests").tag("outcome", "shed").counter().count());
+        assertEquals(2, meterRegistry.get("movies.concurrency.inflight").gauge().value());
+        first.ignore();
+        first.ignore();
+        assertEquals(1, limiter.getInFlight());
+    }
+
+    @Test
+    void permit_ShouldRaiseLimit_WhileLatencyIsSteady() throws InterruptedException {
+        // WHEN: both slots busy and every request as fast as the last
+        for (int i = 0; i < 3; i++) {
+            AdaptiveConcurrencyLimiter.Permit first = limiter.acquire();
+            AdaptiveConcurrencyLimiter.Permit second = limiter.acquire();
+            Thread.sleep(5);
+            first.success();
+            second.success();
+        }
+
+        // THEN
+        assertTrue(limiter.getLimit() > 2);
+        assertEquals(limiter.getLimit(), meterRegistry.get("movies.concurrency.limit").gauge().value());
+    }
+
+    @Test
+    void permit_ShouldBackOff_WhenRequestsAreDropped() {
+        // GIVEN
+        limiter = new AdaptiveConcurrencyLimiter(meterRegistry, 10, 1, 10, 1.0, Duration.ofSeconds(3));
+
+        // WHEN
+        for (int i = 0; i < 10; i++) {
+            limiter.acquire().dropped();
+        }
+
+        // THEN
+        assertTrue(limiter.getLimit() < 4);
+        assertTrue(limiter.getLimit() >= 1);
+    }
+
+    @Test
+    void permit_ShouldShrinkLimit_WhenLatencyClimbs() throws InterruptedException {
+        // GIVEN: a fast baseline at full use
+        limiter = new AdaptiveConcurrencyLimiter(meterRegistry, 4, 1, 4, 1.0, Duration.ofSeconds(3));
+        for (int i = 0; i < 3; i++) {
+            runFullWave(1);
+        }
+
+        // WHEN: upstream slows down a lot
+        for (int i = 0; i < 3; i++) {
+            runFullWave(40);
+        }
+
+        // THEN
+        assertTrue(limiter.getLimit() < 4, "limit was " + limiter.getLimit());
+    }
+
+    private void runFullWave(long millis) throws InterruptedException {
+        int permits = limiter.getLimit();
+        AdaptiveConcurrencyLimiter.Permit[] wave = new AdaptiveConcurrencyLimiter.Permit[permits];
+        for (int i = 0; i < permits; i++) {
+            wave[i] = limiter.acquire();
+        }
+        Thread.sleep(millis);
+        for (AdaptiveConcurrencyLimiter.Permit permit : wave) {
+            permit.success();
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package org.example.backend.ratelimit;
+
+import io.github.bucket4j.Bandwidth;
+import io.github.bucket4j.Bucket;
+import io.github.bucket4j.Refill;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LeasedBucketTest {
+
+    private Bucket shared;
+
+    @BeforeEach
+    void setUp() {
+        shared = Bucket.builder()
+                .addLimit(Bandwidth.classic(10, Refill.intervally(10, Duration.ofHours(1))))
+                .build();
+    }
+
+    @Test
+    void tryAcquire_ShouldServeFromLeaseWithoutTouchingSharedBucket() {
+        // GIVEN
+        LeasedBucket node = new LeasedBucket(shared, 4, Duration.ofMinutes(1));
+
+        // WHEN
+        assertTrue(node.tryAcquire());
+
+        // THEN
+        assertEquals(6, shared.getAvailableTokens());
+        assertEquals(3, node.leasedTokens());
+        assertTrue(node.tryAcquire());
+        assertTrue(node.tryAcquire());
+        assertTrue(node.tryAcquire());
+        assertEquals(6, shared.getAvailableTokens());
+    }
+
+    @Test
+    void tryAcquire_ShouldNeverHandOutMoreThanTheSharedBucketHolds() {
+        // GIVEN
+        LeasedBucket first = new LeasedBucket(shared, 4, Duration.ofMinutes(1));
+        LeasedBucket second = new LeasedBucket(shared, 4, Duration.ofMinutes(1));
+
+        // WHEN
+        int granted = 0;
+        for (int i = 0; i < 20; i++) {
+            if (first.tryAcquire()) {
+                granted++;
+            }
+            if (second.tryAcquire()) {
+                granted++;
+            }
+        }
+
+        // THEN
+        assertEquals(10, granted);
+        assertFalse(first.tryAcquire());
+        assertTrue(first.timeUntilRefill().compareTo(Duration.ZERO) > 0);
+    }
+
+    @Test
+    void release_ShouldReturnUnusedTokens() {
+        // GIVEN
+        LeasedBucket node = new LeasedBucket(shared, 4, Duration.ofMinutes(1));
+        node.tryAcquire();
+
+        // WHEN
+        node.release();
+
+        // THEN
+        assertEquals(9, shared.getAvailableTokens());
+        assertEquals(0, node.leasedTokens());
+    }
+
+    @Test
+    void tryAcquire_ShouldGiveBackExpiredLease() throws InterruptedException {
+        // GIVEN
+        LeasedBucket node = new LeasedBucket(shared, 4, Duration.ofMillis(1));
+        node.tryAcquire();
+        Thread.sleep(5);
+
+        // WHEN
+        assertTrue(node.tryAcquire());
+
+        // THEN: 3 unused tokens went back before the new lease of 4 was taken
+        assertEquals(5, shared.getAvailableTokens());
+    }
+}
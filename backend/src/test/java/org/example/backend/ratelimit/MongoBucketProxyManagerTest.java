@@ -0,0 +1,108 @@
+package org.example.backend.ratelimit;
+
+import io.github.bucket4j.Bandwidth;
+import io.github.bucket4j.BucketConfiguration;
+import io.github.bucket4j.Refill;
+import io.github.bucket4j.distributed.BucketProxy;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntPredicate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Several "nodes" (separate proxy managers and leases) sharing one embedded Mongo, the way
+ * replicas share the production database.
+ */
+@DataMongoTest
+class MongoBucketProxyManagerTest {
+
+    private static final String COLLECTION = "rate_limit_buckets_test";
+    private static final int NODES = 4;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    private final BucketConfiguration configuration = BucketConfiguration.builder()
+            .addLimit(Bandwidth.classic(50, Refill.intervally(50, Duration.ofHours(1))))
+            .build();
+
+    @BeforeEach
+    void setUp() {
+        mongoTemplate.dropCollection(COLLECTION);
+    }
+
+    @Test
+    void tryConsume_ShouldHoldGlobalLimitAcrossNodes() throws Exception {
+        // GIVEN
+        List<BucketProxy> nodes = new ArrayList<>();
+        for (int i = 0; i < NODES; i++) {
+            MongoBucketProxyManager node = new MongoBucketProxyManager(mongoTemplate, COLLECTION);
+            nodes.add(node.builder().build("upstream", () -> configuration));
+        }
+
+        // WHEN
+        int granted = hammer(NODES * 40, i -> nodes.get(i % NODES).tryConsume(1));
+
+        // THEN
+        assertEquals(50, granted);
+        assertEquals(0, nodes.get(0).getAvailableTokens());
+    }
+
+    @Test
+    void leasedBuckets_ShouldHoldGlobalLimitAcrossNodes() throws Exception {
+        // GIVEN
+        List<LeasedBucket> nodes = new ArrayList<>();
+        for (int i = 0; i < NODES; i++) {
+            MongoBucketProxyManager node = new MongoBucketProxyManager(mongoTemplate, COLLECTION);
+            nodes.add(new LeasedBucket(node.builder().build("upstream", () -> configuration), 5, Duration.ofMinutes(1)));
+        }
+
+        // WHEN
+        int granted = hammer(NODES * 40, i -> nodes.get(i % NODES).tryAcquire());
+
+        // THEN
+        assertEquals(50, granted);
+    }
+
+    @Test
+    void ensureExpiryIndex_ShouldCreateTtlIndex() {
+        // WHEN
+        new MongoBucketProxyManager(mongoTemplate, COLLECTION).ensureExpiryIndex();
+
+        // THEN
+        assertTrue(mongoTemplate.indexOps(COLLECTION).getIndexInfo().stream()
+                .anyMatch(index -> index.getExpireAfter().isPresent()));
+    }
+
+    private static int hammer(int attempts, IntPredicate attempt) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        AtomicInteger granted = new AtomicInteger();
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < attempts; i++) {
+                int n = i;
+                futures.add(executor.submit(() -> {
+                    if (attempt.test(n)) {
+                        granted.incrementAndGet();
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        return granted.get();
+    }
+}
@@ -0,0 +1,132 @@
+package org.example.backend.ratelimit;
+
+import io.github.bucket4j.Bandwidth;
+import io.github.bucket4j.Bucket;
+import io.github.bucket4j.Refill;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.backend.exceptions.RateLimitExceededException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UpstreamRateLimiterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private UpstreamRateLimiter rateLimiter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        rateLimiter = limiterWithGlobalBudget(100);
+    }
+
+    private UpstreamRateLimiter limiterWithGlobalBudget(long capacity) {
+        Bucket global = Bucket.builder()
+                .addLimit(Bandwidth.classic(capacity, Refill.greedy(capacity, Duration.ofMinutes(1))))
+                .build();
+        return new UpstreamRateLimiter(new ClientKeyResolver(), meterRegistry,
+                new LeasedBucket(global, 1, Duration.ofSeconds(2)), Optional.empty(),
+                2, Duration.ofSeconds(6), 3, Duration.ofHours(1), 100, 4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void acquire_ShouldRejectAfterBurstIsUsedUp() {
+        // GIVEN
+        rateLimiter.acquire("ip:1.2.3.4");
+        rateLimiter.acquire("ip:1.2.3.4");
+
+        // WHEN
+        RateLimitExceededException exception = assertThrows(RateLimitExceededException.class,
+                () -> rateLimiter.acquire("ip:1.2.3.4"));
+
+        // THEN
+        assertTrue(exception.getRetryAfter().compareTo(Duration.ZERO) > 0);
+        assertTrue(exception.getRetryAfter().compareTo(Duration.ofSeconds(6)) <= 0);
+        assertEquals(2, meterRegistry.get("movies.ratelimit.requests").tag("outcome", "allowed").counter().count());
+        assertEquals(1, meterRegistry.get("movies.ratelimit.requests").tag("outcome", "rejected").counter().count());
+    }
+
+    @Test
+    void acquire_ShouldKeepClientsApart() {
+        // GIVEN
+        rateLimiter.acquire("user:alice");
+        rateLimiter.acquire("user:alice");
+
+        // WHEN & THEN
+        assertThrows(RateLimitExceededException.class, () -> rateLimiter.acquire("user:alice"));
+        assertDoesNotThrow(() -> rateLimiter.acquire("user:bob"));
+        assertEquals(2, meterRegistry.get("movies.ratelimit.clients").gauge().value());
+    }
+
+    @Test
+    void acquire_ShouldChargeRequestAddressAndReportRemaining() {
+        // GIVEN
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setRemoteAddr("10.0.0.7");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request, response));
+
+        // WHEN
+        rateLimiter.acquire();
+
+        // THEN
+        assertEquals("1", response.getHeader(UpstreamRateLimiter.REMAINING_HEADER));
+        rateLimiter.acquire("ip:10.0.0.7");
+        assertThrows(RateLimitExceededException.class, () -> rateLimiter.acquire("ip:10.0.0.7"));
+    }
+
+    @Test
+    void acquire_ShouldBeFree_OutsideOfRequests() {
+        for (int i = 0; i < 10; i++) {
+            rateLimiter.acquire();
+        }
+        assertEquals(0, meterRegistry.get("movies.ratelimit.requests").tag("outcome", "allowed").counter().count());
+    }
+
+    @Test
+    void refund_ShouldGiveTheTokenBack() {
+        // GIVEN
+        meterRegistry = new SimpleMeterRegistry();
+        rateLimiter = limiterWithGlobalBudget(2);
+        rateLimiter.acquire("ip:1.2.3.4");
+        rateLimiter.acquire("ip:1.2.3.4");
+
+        // WHEN
+        rateLimiter.refund("ip:1.2.3.4");
+
+        // THEN: both the client's burst and the global budget have room for one more
+        assertDoesNotThrow(() -> rateLimiter.acquire("ip:1.2.3.4"));
+        assertThrows(RateLimitExceededException.class, () -> rateLimiter.acquire("ip:1.2.3.4"));
+    }
+
+    @Test
+    void acquire_ShouldRefundClient_WhenGlobalBudgetIsExhausted() {
+        // GIVEN
+        meterRegistry = new SimpleMeterRegistry();
+        rateLimiter = limiterWithGlobalBudget(1);
+        rateLimiter.acquire("user:alice");
+
+        // WHEN: more attempts than bob's own burst allows
+        for (int i = 0; i < 3; i++) {
+            assertThrows(RateLimitExceededException.class, () -> rateLimiter.acquire("user:bob"));
+        }
+
+        // THEN: bob's own bucket was never charged for the throttled calls
+        assertEquals(3, meterRegistry.get("movies.ratelimit.requests").tag("outcome", "throttled").counter().count());
+        assertEquals(0, meterRegistry.get("movies.ratelimit.requests").tag("outcome", "rejected").counter().count());
+    }
+}
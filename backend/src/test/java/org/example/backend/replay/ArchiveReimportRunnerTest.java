@@ -0,0 +1,64 @@
+package org.example.backend.replay;
+
+import org.example.backend.service.MovieAPIService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class ArchiveReimportRunnerTest {
+
+    @TempDir
+    Path archiveDirectory;
+
+    @Test
+    void run_ShouldReimportEveryArchivedSearchQueryOnce() throws IOException {
+        // GIVEN
+        ResponseArchive archive = new ResponseArchive(archiveDirectory, Set.of("api_key", "d"));
+        save(archive, "https://api.netzkino.de.simplecache.net/capi-2.0a/search?q=nolan&d=env", 200);
+        save(archive, "https://api.netzkino.de.simplecache.net/capi-2.0a/search?q=heist&d=env", 200);
+        save(archive, "https://api.netzkino.de.simplecache.net/capi-2.0a/search?q=broken&d=env", 500);
+        save(archive, "https://api.themoviedb.org/3/find/tt0133093?api_key=key", 200);
+        MovieAPIService movieAPIService = mock(MovieAPIService.class);
+        when(movieAPIService.reimport(anyString())).thenReturn(List.of());
+        ArchiveReimportRunner runner = new ArchiveReimportRunner(archive,
+                new RecordReplayInterceptor(ReplayMode.REPLAY, archive, 0), movieAPIService);
+
+        // WHEN
+        runner.run(null);
+
+        // THEN
+        verify(movieAPIService).reimport("nolan");
+        verify(movieAPIService).reimport("heist");
+        verifyNoMoreInteractions(movieAPIService);
+    }
+
+    @Test
+    void run_ShouldNotCallUpstreamOutsideReplayMode() throws IOException {
+        // GIVEN
+        ResponseArchive archive = new ResponseArchive(archiveDirectory, Set.of("d"));
+        save(archive, "https://api.netzkino.de.simplecache.net/capi-2.0a/search?q=nolan&d=env", 200);
+        MovieAPIService movieAPIService = mock(MovieAPIService.class);
+        ArchiveReimportRunner runner = new ArchiveReimportRunner(archive,
+                new RecordReplayInterceptor(ReplayMode.PASSTHROUGH, archive, 0), movieAPIService);
+
+        // WHEN
+        runner.run(null);
+
+        // THEN
+        verifyNoInteractions(movieAPIService);
+    }
+
+    private static void save(ResponseArchive archive, String url, int status) throws IOException {
+        archive.save(new ResponseArchive.Entry(archive.key("GET", URI.create(url)), status, "application/json",
+                10, Instant.now(), "{}".getBytes()));
+    }
+}
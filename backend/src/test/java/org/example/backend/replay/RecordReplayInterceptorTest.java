@@ -0,0 +1,123 @@
+package org.example.backend.replay;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+class RecordReplayInterceptorTest {
+
+    private static final String TMDB_URL = "https://api.themoviedb.org/3/find/tt0133093?api_key=%s&language=de&external_source=imdb_id";
+
+    @TempDir
+    Path archiveDirectory;
+
+    private ResponseArchive archive;
+
+    @BeforeEach
+    void setUp() {
+        archive = new ResponseArchive(archiveDirectory, Set.of("api_key", "d"));
+    }
+
+    @Test
+    void record_ShouldArchiveCompressedResponseWithoutSecrets() throws IOException {
+        // GIVEN
+        RestTemplate restTemplate = restTemplate(ReplayMode.RECORD, 1.0);
+        MockRestServiceServer server = MockRestServiceServer.bindTo(restTemplate).build();
+        server.expect(requestTo(TMDB_URL.formatted("secret-key")))
+                .andRespond(withSuccess("{\"movie_results\":[]}", MediaType.APPLICATION_JSON));
+
+        // WHEN
+        String body = restTemplate.getForObject(TMDB_URL.formatted("secret-key"), String.class);
+
+        // THEN
+        assertEquals("{\"movie_results\":[]}", body);
+        List<Path> files;
+        try (var listing = Files.list(archiveDirectory)) {
+            files = listing.toList();
+        }
+        assertEquals(1, files.size());
+        String stored;
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(files.get(0)))) {
+            stored = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        assertFalse(stored.contains("secret-key"));
+        assertEquals("GET https://api.themoviedb.org/3/find/tt0133093?external_source=imdb_id&language=de",
+                archive.entries().get(0).key());
+    }
+
+    @Test
+    void replay_ShouldServeRecordedResponseForAnyApiKeyWithoutCallingUpstream() throws IOException {
+        // GIVEN
+        archive.save(new ResponseArchive.Entry(
+                archive.key("GET", URI.create(TMDB_URL.formatted("recording-key"))),
+                200, "application/json", 0, Instant.now(), "{\"movie_results\":[]}".getBytes(StandardCharsets.UTF_8)));
+        RestTemplate restTemplate = restTemplate(ReplayMode.REPLAY, 1.0);
+        MockRestServiceServer server = MockRestServiceServer.bindTo(restTemplate).build();
+
+        // WHEN
+        String body = restTemplate.getForObject(TMDB_URL.formatted("another-key"), String.class);
+
+        // THEN
+        assertEquals("{\"movie_results\":[]}", body);
+        server.verify();
+    }
+
+    @Test
+    void replay_ShouldTakeScaledRecordedTime() throws IOException {
+        // GIVEN
+        archive.save(new ResponseArchive.Entry(archive.key("GET", URI.create(TMDB_URL.formatted("k"))),
+                200, "application/json", 400, Instant.now(), "{}".getBytes(StandardCharsets.UTF_8)));
+        RestTemplate restTemplate = restTemplate(ReplayMode.REPLAY, 0.5);
+
+        // WHEN
+        long began = System.nanoTime();
+        restTemplate.getForObject(TMDB_URL.formatted("k"), String.class);
+        long elapsedMillis = (System.nanoTime() - began) / 1_000_000;
+
+        // THEN
+        assertTrue(elapsedMillis >= 200, "replayed in " + elapsedMillis + " ms");
+        assertTrue(elapsedMillis < 400, "replayed in " + elapsedMillis + " ms");
+    }
+
+    @Test
+    void replay_ShouldFailForUnrecordedRequest() {
+        // GIVEN
+        RestTemplate restTemplate = restTemplate(ReplayMode.REPLAY, 1.0);
+
+        // WHEN / THEN
+        assertThrows(ResourceAccessException.class,
+                () -> restTemplate.getForObject(TMDB_URL.formatted("k"), String.class));
+    }
+
+    @Test
+    void key_ShouldIgnoreParameterOrderHostCaseAndSecrets() {
+        assertEquals(
+                archive.key("GET", URI.create("https://API.netzkino.de/capi-2.0a/search?q=nolan&d=env-one")),
+                archive.key("GET", URI.create("https://api.netzkino.de/capi-2.0a/search?d=env-two&q=nolan")));
+    }
+
+    private RestTemplate restTemplate(ReplayMode mode, double timeScale) {
+        RestTemplate restTemplate = new RestTemplate();
+        restTemplate.getInterceptors().add(new RecordReplayInterceptor(mode, archive, timeScale));
+        return restTemplate;
+    }
+}
@@ -0,0 +1,111 @@
+package org.example.backend.repo;
+
+import org.example.backend.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataMongoTest
+class UserRepoCustomImplTest {
+
+    private static final int USERS = 50;
+    private static final int LOGINS_PER_USER = 40;
+
+    @Autowired
+    private UserRepo userRepo;
+
+    @BeforeEach
+    void setUp() {
+        userRepo.deleteAll();
+        userRepo.ensureUniqueGithubIdIndex();
+    }
+
+    @Test
+    void registerIfAbsent_ShouldNotTouchExistingUser() {
+        // GIVEN
+        userRepo.save(new User(null, "12345", "testUser", List.of("some-movie")));
+
+        // WHEN
+        boolean created = userRepo.registerIfAbsent("12345", "renamed");
+
+        // THEN
+        assertFalse(created);
+        User user = userRepo.findByGithubId("12345").orElseThrow();
+        assertEquals("testUser", user.username());
+        assertEquals(List.of("some-movie"), user.favorites());
+    }
+
+    @Test
+    void registerIfAbsent_ShouldCreateEachUserOnce_UnderParallelLogins() throws Exception {
+        // GIVEN: every user logs in many times at once
+        List<String> logins = new ArrayList<>();
+        for (int i = 0; i < LOGINS_PER_USER; i++) {
+            for (int u = 0; u < USERS; u++) {
+                logins.add("user-" + u);
+            }
+        }
+
+        // WHEN
+        int created = hammer(logins, 16);
+
+        // THEN
+        assertEquals(USERS, created);
+        assertEquals(USERS, userRepo.count());
+        for (int u = 0; u < USERS; u++) {
+            User user = userRepo.findByGithubId("user-" + u).orElseThrow();
+            assertEquals("login-user-" + u, user.username());
+            assertEquals(List.of(), user.favorites());
+        }
+    }
+
+    @Test
+    void registerIfAbsent_ShouldNotLetDuplicateKeysEscape_WhenFirstLoginsRace() throws Exception {
+        // GIVEN: nobody is registered yet, and every user's first logins arrive together
+        List<String> logins = new ArrayList<>();
+        for (int u = 0; u < USERS; u++) {
+            for (int i = 0; i < 8; i++) {
+                logins.add("user-" + u);
+            }
+        }
+
+        for (int round = 0; round < 5; round++) {
+            userRepo.deleteAll();
+
+            // WHEN: a DuplicateKeyException would fail the future and the test
+            int created = hammer(logins, 8);
+
+            // THEN
+            assertEquals(USERS, created);
+            assertEquals(USERS, userRepo.count());
+        }
+    }
+
+    private int hammer(List<String> logins, int threads) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        AtomicInteger created = new AtomicInteger();
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (String githubId : logins) {
+                futures.add(executor.submit(() -> {
+                    if (userRepo.registerIfAbsent(githubId, "login-" + githubId)) {
+                        created.incrementAndGet();
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        return created.get();
+    }
+}
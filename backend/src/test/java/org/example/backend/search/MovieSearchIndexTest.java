@@ -0,0 +1,127 @@
+package org.example.backend.search;
+
+import org.example.backend.model.Movie;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MovieSearchIndexTest {
+
+    private MovieSearchIndex searchIndex;
+
+    @BeforeEach
+    void setUp() {
+        searchIndex = new MovieSearchIndex();
+        searchIndex.index(movie("slug-inception", "Inception", "A thief who enters the dreams of others", "Christopher Nolan", "Leonardo DiCaprio"));
+        searchIndex.index(movie("slug-the-dark-knight", "The Dark Knight", "Batman battles the Joker", "Christopher Nolan", "Christian Bale, Heath Ledger"));
+        searchIndex.index(movie("slug-knight-and-day", "Knight and Day", "A spy comedy", "James Mangold", "Tom Cruise, Cameron Diaz"));
+    }
+
+    @Test
+    void replaceAll_ShouldSwapInTheNewCatalog() {
+        // WHEN
+        searchIndex.replaceAll(List.of(
+                movie("slug-memento", "Memento", "A man without short-term memory", "Christopher Nolan", "Guy Pearce")));
+
+        // THEN
+        assertEquals(1, searchIndex.size());
+        assertEquals(List.of("slug-memento"), searchIndex.search("nolan", 10).stream().map(Movie::slug).toList());
+        assertTrue(searchIndex.search("knight", 2, 10).isEmpty());
+    }
+
+    @Test
+    void search_ShouldNeverSeeAnEmptyCatalog_WhileItIsReplaced() throws Exception {
+        // GIVEN
+        List<Movie> catalog = List.of(
+                movie("slug-inception", "Inception", "A thief who enters the dreams of others", "Christopher Nolan", "Leonardo DiCaprio"),
+                movie("slug-the-dark-knight", "The Dark Knight", "Batman battles the Joker", "Christopher Nolan", "Christian Bale, Heath Ledger"));
+        Thread rebuilds = new Thread(() -> {
+            for (int i = 0; i < 2000; i++) {
+                searchIndex.replaceAll(catalog);
+            }
+        });
+
+        // WHEN
+        rebuilds.start();
+        int empty = 0;
+        while (rebuilds.isAlive()) {
+            if (searchIndex.search("nolan", 10).isEmpty()) {
+                empty++;
+            }
+        }
+        rebuilds.join();
+
+        // THEN
+        assertEquals(0, empty);
+    }
+
+    @Test
+    void search_ShouldMatchRegisseurAndStars() {
+        // WHEN
+        List<Movie> byRegisseur = searchIndex.search("nolan", 10);
+        List<Movie> byStar = searchIndex.search("ledger", 10);
+
+        // THEN
+        assertEquals(2, byRegisseur.size());
+        assertEquals(1, byStar.size());
+        assertEquals("slug-the-dark-knight", byStar.get(0).slug());
+    }
+
+    @Test
+    void search_ShouldRankTitleHitsAboveOverviewHits() {
+        // GIVEN
+        searchIndex.index(movie("slug-batman", "Batman", "The caped crusader", "Tim Burton", "Michael Keaton"));
+
+        // WHEN
+        List<Movie> result = searchIndex.search("batman", 10);
+
+        // THEN
+        assertEquals(2, result.size());
+        assertEquals("slug-batman", result.get(0).slug());
+    }
+
+    @Test
+    void search_ShouldReturnOnlyTopK() {
+        // WHEN
+        List<Movie> result = searchIndex.search("knight", 1);
+
+        // THEN
+        assertEquals(1, result.size());
+    }
+
+    @Test
+    void index_ShouldReplacePreviousVersionOfMovie() {
+        // WHEN
+        searchIndex.index(movie("slug-inception", "Inception", "Dreams within dreams", "Someone Else", "Leonardo DiCaprio"));
+
+        // THEN
+        assertEquals(3, searchIndex.size());
+        assertEquals(1, searchIndex.search("nolan", 10).size());
+        assertEquals(1, searchIndex.search("someone", 10).size());
+    }
+
+    @Test
+    void remove_ShouldDropMovieFromResults() {
+        // WHEN
+        searchIndex.remove("slug-the-dark-knight");
+
+        // THEN
+        assertEquals(2, searchIndex.size());
+        assertTrue(searchIndex.search("ledger", 10).isEmpty());
+        assertEquals(1, searchIndex.search("knight", 10).size());
+    }
+
+    @Test
+    void search_ShouldReturnEmptyList_WhenNothingMatches() {
+        assertTrue(searchIndex.search("zzz", 10).isEmpty());
+        assertTrue(searchIndex.search(null, 10).isEmpty());
+    }
+
+    private static Movie movie(String slug, String title, String overview, String regisseur, String stars) {
+        return new Movie(slug, 1, slug, title, "2000", overview, regisseur, stars,
+                "img", "imgSmall", "imgImdb", List.of(), List.of());
+    }
+}
@@ -0,0 +1,83 @@
+package org.example.backend.search;
+
+import org.example.backend.model.Movie;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SuggestionTrieTest {
+
+    private SuggestionTrie trie;
+
+    @BeforeEach
+    void setUp() {
+        trie = new SuggestionTrie();
+        trie.addMovie(movie("slug-the-dark-knight", "The Dark Knight"));
+        trie.addMovie(movie("slug-knight-and-day", "Knight and Day"));
+        trie.addMovie(movie("slug-inception", "Inception"));
+    }
+
+    @Test
+    void suggest_ShouldCompleteFromStartOfAnyWord() {
+        // WHEN
+        List<String> result = trie.suggest("kni", 10);
+
+        // THEN
+        assertEquals(List.of("Knight and Day", "The Dark Knight"), result);
+    }
+
+    @Test
+    void suggest_ShouldMatchPrefixEndingInsideAnEdge() {
+        assertEquals(List.of("Inception"), trie.suggest("Incep", 10));
+        assertEquals(List.of("The Dark Knight"), trie.suggest("the d", 10));
+        assertTrue(trie.suggest("incx", 10).isEmpty());
+    }
+
+    @Test
+    void suggest_ShouldRankTitlesAbovePastQueries() {
+        // GIVEN
+        trie.addQuery("inc");
+
+        // WHEN
+        List<String> result = trie.suggest("in", 10);
+
+        // THEN
+        assertEquals(List.of("Inception", "inc"), result);
+    }
+
+    @Test
+    void suggest_ShouldHonourLimit() {
+        assertEquals(1, trie.suggest("k", 1).size());
+        assertTrue(trie.suggest("k", 0).isEmpty());
+        assertTrue(trie.suggest("  ", 10).isEmpty());
+    }
+
+    @Test
+    void removeMovie_ShouldDropAllEntriesOfTheTitle() {
+        // GIVEN
+        assertFalse(trie.suggest("dark", 10).isEmpty());
+
+        // WHEN
+        trie.removeMovie("slug-the-dark-knight");
+
+        // THEN
+        assertTrue(trie.suggest("dark", 10).isEmpty());
+        assertEquals(List.of("Knight and Day"), trie.suggest("knight", 10));
+    }
+
+    @Test
+    void addMovie_ShouldReplaceRenamedTitle() {
+        // WHEN
+        trie.addMovie(movie("slug-inception", "Inception Reloaded"));
+
+        // THEN
+        assertEquals(List.of("Inception Reloaded"), trie.suggest("incep", 10));
+    }
+
+    private static Movie movie(String slug, String title) {
+        return new Movie(slug, 1, slug, title, "2000", "", "", "", "", "", "", List.of(), List.of());
+    }
+}
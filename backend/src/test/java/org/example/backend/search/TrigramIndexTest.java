@@ -0,0 +1,119 @@
+package org.example.backend.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TrigramIndexTest {
+
+    private TrigramIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new TrigramIndex();
+        List.of("elijah", "elias", "eliza", "noah", "nora", "christopher").forEach(index::add);
+    }
+
+    @Test
+    void lookup_ShouldFindTermWithDroppedLetters() {
+        // WHEN
+        List<TrigramIndex.Match> matches = index.lookup("elja", 2, 5);
+
+        // THEN
+        assertFalse(matches.isEmpty());
+        assertTrue(matches.stream().anyMatch(m -> m.term().equals("elijah") && m.distance() == 2));
+    }
+
+    @Test
+    void lookup_ShouldOrderByDistance() {
+        // WHEN
+        List<TrigramIndex.Match> matches = index.lookup("elia", 2, 5);
+
+        // THEN
+        assertEquals(1, matches.get(0).distance());
+        assertTrue(matches.stream().allMatch(m -> m.distance() <= 2));
+    }
+
+    @Test
+    void lookup_ShouldRespectEditBudget() {
+        assertTrue(index.lookup("kristofer", 1, 5).isEmpty());
+        assertEquals("christopher", index.lookup("christofer", 2, 5).get(0).term());
+    }
+
+    @Test
+    void isPlausibleTypoOf_ShouldRejectSubstitutedNames() {
+        // GIVEN
+        TrigramIndex.Match nora = index.lookup("noah", 2, 5).stream()
+                .filter(m -> m.term().equals("nora"))
+                .findFirst()
+                .orElseThrow();
+        TrigramIndex.Match elijah = index.lookup("elja", 2, 5).stream()
+                .filter(m -> m.term().equals("elijah"))
+                .findFirst()
+                .orElseThrow();
+        TrigramIndex.Match elias = index.lookup("elja", 2, 5).stream()
+                .filter(m -> m.term().equals("elias"))
+                .findFirst()
+                .orElseThrow();
+
+        // THEN
+        assertFalse(nora.isPlausibleTypoOf("noah"));
+        assertTrue(elijah.isPlausibleTypoOf("elja"));
+        assertFalse(elias.isPlausibleTypoOf("elja"));
+    }
+
+    @Test
+    void isPlausibleTypoOf_ShouldRejectEditsOfShortNames() {
+        // GIVEN
+        index.add("eva");
+        index.add("mila");
+        index.add("luca");
+        index.add("christophr");
+
+        // WHEN
+        TrigramIndex.Match eva = index.lookup("ava", 1, 5).get(0);
+        TrigramIndex.Match mila = index.lookup("mia", 1, 5).get(0);
+        TrigramIndex.Match luca = index.lookup("luna", 1, 5).get(0);
+        TrigramIndex.Match christophr = index.lookup("christopha", 1, 5).get(0);
+
+        // THEN
+        assertFalse(eva.isPlausibleTypoOf("ava"));
+        assertFalse(mila.isPlausibleTypoOf("mia"));
+        assertFalse(luca.isPlausibleTypoOf("luna"));
+        assertTrue(christophr.isPlausibleTypoOf("christopha"));
+    }
+
+    @Test
+    void remove_ShouldOnlyDropTermWhenLastReferenceIsGone() {
+        // GIVEN
+        index.add("noah");
+
+        // WHEN
+        index.remove("noah");
+
+        // THEN
+        assertTrue(index.contains("noah"));
+        index.remove("noah");
+        assertFalse(index.contains("noah"));
+        assertTrue(index.lookup("noah", 0, 5).isEmpty());
+    }
+
+    @Test
+    void boundedLevenshtein_ShouldMatchPlainDistanceWithinBound() {
+        assertEquals(0, TrigramIndex.boundedLevenshtein("kitten", "kitten", 2));
+        assertEquals(3, TrigramIndex.boundedLevenshtein("kitten", "sitting", 3));
+        assertEquals(3, TrigramIndex.boundedLevenshtein("kitten", "sitting", 2));
+        assertEquals(2, TrigramIndex.boundedLevenshtein("elja", "elijah", 2));
+        assertEquals(3, TrigramIndex.boundedLevenshtein("abc", "xyzabc", 2));
+    }
+
+    @Test
+    void editBudget_ShouldShrinkForShortTerms() {
+        assertEquals(0, TrigramIndex.editBudget("ab", 2));
+        assertEquals(0, TrigramIndex.editBudget("ava", 2));
+        assertEquals(2, TrigramIndex.editBudget("elja", 2));
+    }
+}
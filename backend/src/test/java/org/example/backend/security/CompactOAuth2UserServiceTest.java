@@ -0,0 +1,67 @@
+package org.example.backend.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.oauth2.client.registration.ClientRegistration;
+import org.springframework.security.oauth2.client.userinfo.OAuth2UserRequest;
+import org.springframework.security.oauth2.core.AuthorizationGrantType;
+import org.springframework.security.oauth2.core.OAuth2AccessToken;
+import org.springframework.security.oauth2.core.user.DefaultOAuth2User;
+import org.springframework.security.oauth2.core.user.OAuth2User;
+import org.springframework.security.oauth2.core.user.OAuth2UserAuthority;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompactOAuth2UserServiceTest {
+
+    @Test
+    void loadUser_ShouldKeepOnlyIdAndLogin() {
+        // GIVEN
+        Map<String, Object> profile = Map.of(
+                "id", 12345,
+                "login", "testUser",
+                "avatar_url", "https://avatars.example.com/12345",
+                "bio", "a long biography",
+                "followers", 42);
+        Set<GrantedAuthority> authorities = Set.of(
+                new OAuth2UserAuthority(profile),
+                new SimpleGrantedAuthority("SCOPE_read:user"));
+        CompactOAuth2UserService service = new CompactOAuth2UserService(
+                request -> new DefaultOAuth2User(authorities, profile, "id"));
+
+        // WHEN
+        OAuth2User user = service.loadUser(githubRequest());
+
+        // THEN
+        assertEquals(Map.of("id", 12345, "login", "testUser"), user.getAttributes());
+        assertEquals("12345", user.getName());
+        assertTrue(user.getAuthorities().contains(new SimpleGrantedAuthority("SCOPE_read:user")));
+        OAuth2UserAuthority authority = user.getAuthorities().stream()
+                .filter(OAuth2UserAuthority.class::isInstance)
+                .map(OAuth2UserAuthority.class::cast)
+                .findFirst()
+                .orElseThrow();
+        assertEquals(user.getAttributes(), authority.getAttributes());
+    }
+
+    private static OAuth2UserRequest githubRequest() {
+        ClientRegistration registration = ClientRegistration.withRegistrationId("github")
+                .clientId("client-id")
+                .authorizationGrantType(AuthorizationGrantType.AUTHORIZATION_CODE)
+                .redirectUri("{baseUrl}/login/oauth2/code/{registrationId}")
+                .authorizationUri("https://github.com/login/oauth/authorize")
+                .tokenUri("https://github.com/login/oauth/access_token")
+                .userInfoUri("https://api.github.com/user")
+                .userNameAttributeName("id")
+                .build();
+        OAuth2AccessToken token = new OAuth2AccessToken(OAuth2AccessToken.TokenType.BEARER, "token",
+                Instant.now(), Instant.now().plusSeconds(60), Set.copyOf(List.of("read:user")));
+        return new OAuth2UserRequest(registration, token);
+    }
+}
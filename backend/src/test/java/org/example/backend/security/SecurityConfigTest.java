@@ -0,0 +1,133 @@
+package org.example.backend.security;
+
+import org.example.backend.config.AsyncConfig;
+import org.example.backend.controller.MovieController;
+import org.example.backend.deadline.RequestDeadlines;
+import org.example.backend.search.SuggestionTrie;
+import org.example.backend.service.MovieAPIService;
+import org.example.backend.service.MovieResults;
+import org.example.backend.service.MovieService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.mock.web.MockHttpSession;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.when;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.oauth2Login;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(controllers = MovieController.class, properties = "movies.admin.logins=admin")
+@Import({SecurityConfig.class, AsyncConfig.class, RequestDeadlines.class})
+class SecurityConfigTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private MovieService movieService;
+
+    @MockitoBean
+    private MovieAPIService movieAPIService;
+
+    @MockitoBean
+    private SuggestionTrie suggestionTrie;
+
+    @Test
+    void publicReads_ShouldNotCreateSession() throws Exception {
+        // GIVEN
+        when(movieAPIService.getMoviesOfTheDay(isNull(), any())).thenReturn(MovieResults.complete(List.of()));
+
+        // WHEN
+        MvcResult result = mockMvc.perform(get("/api/movies/daily"))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        // THEN
+        assertNull(result.getRequest().getSession(false));
+        assertNull(result.getResponse().getCookie("SESSION"));
+    }
+
+    @Test
+    void publicReads_ShouldIgnoreExistingSession() throws Exception {
+        // GIVEN
+        MockHttpSession session = new MockHttpSession();
+
+        // WHEN
+        mockMvc.perform(get("/api/movies/suggest").param("prefix", "in").session(session))
+                .andExpect(status().isOk());
+
+        // THEN: the security context was not even looked up in it
+        assertNull(session.getAttribute("SPRING_SECURITY_CONTEXT"));
+        assertFalse(session.isInvalid());
+    }
+
+    @Test
+    void anonymousSearch_ShouldNotCreateSession() throws Exception {
+        // GIVEN
+        when(movieAPIService.searchMovies(eq("nolan"), any())).thenReturn(MovieResults.complete(List.of()));
+
+        // WHEN
+        MvcResult result = mockMvc.perform(get("/api/movies/search").param("query", "nolan"))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        // THEN
+        assertNull(result.getRequest().getSession(false));
+    }
+
+    @Test
+    void oauthLogin_ShouldCreateSession() throws Exception {
+        // WHEN
+        MvcResult result = mockMvc.perform(get("/oauth2/authorization/google"))
+                .andExpect(status().is3xxRedirection())
+                .andReturn();
+
+        // THEN: the authorization request has to survive the round trip to the provider
+        assertNotNull(result.getRequest().getSession(false));
+    }
+
+    @Test
+    void jfrRecording_ShouldSendAnonymousUsersToLogin() throws Exception {
+        mockMvc.perform(post("/actuator/jfr"))
+                .andExpect(status().is3xxRedirection());
+    }
+
+    @Test
+    void jfrRecording_ShouldForbidUsersWhoAreNotAdmins() throws Exception {
+        mockMvc.perform(post("/actuator/jfr").with(oauth2Login().attributes(attributes -> attributes.put("login", "someone"))))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void jfrRecording_ShouldLetAdminsThrough() throws Exception {
+        // past security; the actuator endpoint itself is not part of this slice
+        mockMvc.perform(post("/actuator/jfr").with(oauth2Login().attributes(attributes -> attributes.put("login", "admin"))))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void prometheus_ShouldSendRemoteAnonymousUsersToLogin() throws Exception {
+        mockMvc.perform(get("/actuator/prometheus").with(request -> {
+                    request.setRemoteAddr("203.0.113.7");
+                    return request;
+                }))
+                .andExpect(status().is3xxRedirection());
+    }
+
+    @Test
+    void prometheus_ShouldLetTheScraperNetworkThrough() throws Exception {
+        // MockMvc requests come from 127.0.0.1; past security the endpoint is not part of this slice
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,100 @@
+package org.example.backend.service;
+
+import io.micrometer.observation.ObservationRegistry;
+import org.example.backend.model.EnrichmentStatus;
+import org.example.backend.model.Movie;
+import org.example.backend.observability.StageObserver;
+import org.example.backend.repo.MovieRepo;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class BackdropEnrichmentWorkerTest {
+
+    private MovieRepo movieRepo;
+    private MovieAPIService movieAPIService;
+    private BackdropEnrichmentWorker worker;
+
+    @BeforeEach
+    void setUp() {
+        movieRepo = mock(MovieRepo.class);
+        movieAPIService = mock(MovieAPIService.class);
+        worker = new BackdropEnrichmentWorker(movieRepo, movieAPIService, new StageObserver(ObservationRegistry.NOOP), 10);
+    }
+
+    private static Movie pending(String slug, String imdbId) {
+        return new Movie(slug, 1, slug, "Title", "2010", "overview", "Regisseur", "Stars",
+                "img", "img-small", "img", List.of("query"), List.of(), imdbId, EnrichmentStatus.PENDING);
+    }
+
+    @Test
+    void enrichPending_ShouldStoreBackdropAndRefreshCaches() {
+        // GIVEN
+        Movie movie = pending("slug-inception", "tt1375666");
+        when(movieRepo.findByEnrichment(eq(EnrichmentStatus.PENDING), any(Pageable.class))).thenReturn(List.of(movie));
+        when(movieAPIService.lookupBackdrop("tt1375666")).thenReturn(Optional.of("https://image.tmdb.org/t/p/original/b.jpg"));
+
+        // WHEN
+        int finished = worker.enrichPending();
+
+        // THEN
+        Movie enriched = movie.withBackdrop("https://image.tmdb.org/t/p/original/b.jpg");
+        assertEquals(1, finished);
+        assertEquals(EnrichmentStatus.DONE, enriched.enrichment());
+        verify(movieRepo).save(enriched);
+        verify(movieAPIService).refreshCachedMovie("slug-inception", enriched);
+    }
+
+    @Test
+    void enrichPending_ShouldDeleteMoviesWithoutBackdrop() {
+        // GIVEN
+        Movie movie = pending("slug-unknown", "tt0000001");
+        when(movieRepo.findByEnrichment(eq(EnrichmentStatus.PENDING), any(Pageable.class))).thenReturn(List.of(movie));
+        when(movieAPIService.lookupBackdrop("tt0000001")).thenReturn(Optional.empty());
+
+        // WHEN
+        worker.enrichPending();
+
+        // THEN
+        verify(movieRepo).deleteBySlug("slug-unknown");
+        verify(movieAPIService).refreshCachedMovie("slug-unknown", null);
+        verify(movieRepo, never()).save(any());
+    }
+
+    @Test
+    void enrichPending_ShouldKeepMoviesPending_WhenTmdbFails() {
+        // GIVEN
+        Movie first = pending("slug-a", "tt0000001");
+        Movie second = pending("slug-b", "tt0000002");
+        when(movieRepo.findByEnrichment(eq(EnrichmentStatus.PENDING), any(Pageable.class))).thenReturn(List.of(first, second));
+        when(movieAPIService.lookupBackdrop("tt0000001")).thenThrow(new ResourceAccessException("timeout"));
+
+        // WHEN
+        int finished = worker.enrichPending();
+
+        // THEN
+        assertEquals(0, finished);
+        verify(movieAPIService, never()).lookupBackdrop("tt0000002");
+        verify(movieRepo, never()).save(any());
+        verify(movieRepo, never()).deleteBySlug(any());
+    }
+
+    @Test
+    void afterPropertiesSet_ShouldIndexPendingMoviesWithoutFailingStartup() {
+        // GIVEN
+        doThrow(new IllegalStateException("not primary")).when(movieRepo).ensurePendingEnrichmentIndex();
+
+        // WHEN & THEN
+        assertDoesNotThrow(() -> worker.afterPropertiesSet());
+        verify(movieRepo).ensurePendingEnrichmentIndex();
+    }
+}
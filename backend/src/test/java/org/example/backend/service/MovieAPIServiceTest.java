@@ -1,19 +1,31 @@
 package org.example.backend.service;
 
+import org.example.backend.cache.QueryRegistry;
+import org.example.backend.deadline.Deadline;
 import org.example.backend.dtos.netzkino.*;
 import org.example.backend.dtos.tmdb.TmdbMovieResult;
 import org.example.backend.dtos.tmdb.TmdbResponse;
 import org.example.backend.exceptions.InvalidSearchQueryException;
+import org.example.backend.model.EnrichmentStatus;
 import org.example.backend.model.Movie;
+import org.example.backend.exceptions.RateLimitExceededException;
 import org.example.backend.model.Query;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.backend.exceptions.ServiceOverloadedException;
+import io.micrometer.observation.ObservationRegistry;
+import org.example.backend.observability.StageObserver;
+import org.example.backend.ratelimit.AdaptiveConcurrencyLimiter;
+import org.example.backend.ratelimit.UpstreamRateLimiter;
 import org.example.backend.repo.MovieRepo;
 import org.example.backend.repo.QueryRepo;
+import org.example.backend.search.MovieSearchIndex;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.http.ResponseEntity;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.web.client.RestTemplate;
 
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.OffsetDateTime;
 import java.util.*;
@@ -26,7 +38,11 @@ class MovieAPIServiceTest {
 
     private MovieRepo movieRepository;
     private QueryRepo queryRepository;
+    private QueryRegistry queryRegistry;
     private RestTemplate restTemplate;
+    private MovieSearchIndex searchIndex;
+    private UpstreamRateLimiter rateLimiter;
+    private AdaptiveConcurrencyLimiter concurrencyLimiter;
     private MovieAPIService movieAPIService;
 
     @BeforeEach
@@ -34,7 +50,11 @@ class MovieAPIServiceTest {
         movieRepository = mock(MovieRepo.class);
         queryRepository = mock(QueryRepo.class);
         restTemplate = mock(RestTemplate.class);
-        movieAPIService = new MovieAPIService(movieRepository, restTemplate, queryRepository, "dummyTmdbApiKey", "dummyNetzkinoEnv");
+        searchIndex = new MovieSearchIndex();
+        queryRegistry = new QueryRegistry(queryRepository, event -> {});
+        rateLimiter = mock(UpstreamRateLimiter.class);
+        concurrencyLimiter = new AdaptiveConcurrencyLimiter(new SimpleMeterRegistry(), 1, 1, 1, 0.2, Duration.ofSeconds(2));
+        movieAPIService = new MovieAPIService(movieRepository, restTemplate, queryRegistry, searchIndex, rateLimiter, concurrencyLimiter, new StageObserver(ObservationRegistry.NOOP), Runnable::run, "dummyTmdbApiKey", "dummyNetzkinoEnv", MovieAPIService.NETZKINO_URL, MovieAPIService.TMDB_BASE_URL, 2, 50, 2, false);
     }
 
     @Test
@@ -56,6 +76,7 @@ class MovieAPIServiceTest {
         assertEquals(1, movies.size());
         assertEquals(movie, movies.get(0));
         verify(movieRepository).findByQueriesContaining(searchQuery);
+        verify(rateLimiter, never()).acquire();
     }
 
     @Test
@@ -140,7 +161,7 @@ class MovieAPIServiceTest {
         );
 
         ResponseEntity<NetzkinoResponse> mockedResponseEntity = ResponseEntity.ok(mockNetzkinoResponse);
-        when(restTemplate.getForEntity(anyString(), eq(NetzkinoResponse.class)))
+        when(restTemplate.getForEntity(anyString(), eq(NetzkinoResponse.class), anyMap()))
                 .thenReturn(mockedResponseEntity);
 
         // Mock TMDB API response
@@ -169,7 +190,7 @@ class MovieAPIServiceTest {
         );
 
         ResponseEntity<TmdbResponse> tmdbResponseEntity = ResponseEntity.ok(mockTmdbResponse);
-        when(restTemplate.getForEntity(anyString(), eq(TmdbResponse.class))).thenReturn(tmdbResponseEntity);
+        when(restTemplate.getForEntity(anyString(), eq(TmdbResponse.class), anyMap())).thenReturn(tmdbResponseEntity);
 
         // WHEN
         List<Movie> movies = movieAPIService.fetchMoviesBySearchQuery(searchQuery);
@@ -179,7 +200,311 @@ class MovieAPIServiceTest {
         assertEquals(1, movies.size(), "Expected exactly one movie returned");
         verify(movieRepository).findByQueriesContaining(searchQuery);
         verify(movieRepository).saveAll(anyList());
-        verify(queryRepository).save(any(Query.class));
+        verify(queryRepository).recordUse(anyString(), anyLong(), any());
+    }
+
+    @Test
+    void openSearchStream_ShouldChargeUpfrontAndCallUpstreamOnlyWhenRun() {
+        // GIVEN
+        String searchQuery = "nolan";
+        when(movieRepository.findByQueriesContaining(searchQuery)).thenReturn(Optional.empty());
+        Post withoutFields = new Post(1, "slug", "Title", "Overview", null, null,
+                null, List.of(), null, null, List.of(), 1, true, 1, null);
+        NetzkinoResponse response = new NetzkinoResponse(
+                List.of(), "", "success", 1, 1, 1, 1, List.of(withoutFields), "", 0, 0
+        );
+        when(restTemplate.getForEntity(anyString(), eq(NetzkinoResponse.class), anyMap()))
+                .thenReturn(ResponseEntity.ok(response));
+
+        // WHEN
+        SearchStream stream = movieAPIService.openSearchStream(searchQuery);
+
+        // THEN
+        verify(rateLimiter).acquire();
+        verifyNoInteractions(restTemplate);
+        assertEquals(1, concurrencyLimiter.getInFlight());
+
+        SearchStream.Result result = stream.run(movie -> fail("post without custom fields must be skipped"));
+        assertEquals(0, concurrencyLimiter.getInFlight());
+        assertTrue(result.upstream());
+        assertEquals(1, result.skipped());
+        assertTrue(result.movies().isEmpty());
+        verify(movieRepository).saveAll(List.of());
+    }
+
+    @Test
+    void openSearchStream_ShouldRefundToken_WhenDiscarded() {
+        // GIVEN
+        String searchQuery = "nolan";
+        when(movieRepository.findByQueriesContaining(searchQuery)).thenReturn(Optional.empty());
+        SearchStream stream = movieAPIService.openSearchStream(searchQuery);
+
+        // WHEN
+        stream.discard();
+
+        // THEN
+        verify(rateLimiter).acquire();
+        verify(rateLimiter).refund();
+        verifyNoInteractions(restTemplate);
+        assertEquals(0, concurrencyLimiter.getInFlight());
+    }
+
+    @Test
+    void openSearchStream_ShouldShedUpstreamSearches_WhenConcurrencyLimitIsReached() {
+        // GIVEN
+        when(movieRepository.findByQueriesContaining("nolan")).thenReturn(Optional.empty());
+        AdaptiveConcurrencyLimiter.Permit busy = concurrencyLimiter.acquire();
+
+        // WHEN & THEN
+        assertThrows(ServiceOverloadedException.class, () -> movieAPIService.openSearchStream("nolan"));
+        verify(rateLimiter, never()).acquire();
+
+        busy.success();
+        assertEquals(0, concurrencyLimiter.getInFlight());
+    }
+
+    @Test
+    void openSearchStream_ShouldReturnPermit_WhenRateLimited() {
+        // GIVEN
+        when(movieRepository.findByQueriesContaining("nolan")).thenReturn(Optional.empty());
+        doThrow(new RateLimitExceededException("Too many searches", Duration.ofSeconds(6))).when(rateLimiter).acquire();
+
+        // WHEN & THEN
+        assertThrows(RateLimitExceededException.class, () -> movieAPIService.openSearchStream("nolan"));
+        assertEquals(0, concurrencyLimiter.getInFlight());
+    }
+
+    @Test
+    void fetchMoviesBySearchQuery_ShouldDeferTmdbLookup_WhenEnrichmentIsDeferred() {
+        // GIVEN
+        movieAPIService = new MovieAPIService(movieRepository, restTemplate, queryRegistry, searchIndex, rateLimiter, concurrencyLimiter, new StageObserver(ObservationRegistry.NOOP), Runnable::run, "dummyTmdbApiKey", "dummyNetzkinoEnv", MovieAPIService.NETZKINO_URL, MovieAPIService.TMDB_BASE_URL, 2, 50, 2, true);
+        String searchQuery = "nolan";
+        when(movieRepository.findByQueriesContaining(searchQuery)).thenReturn(Optional.empty());
+        CustomFields customFields = mock(CustomFields.class);
+        when(customFields.IMDb_Link()).thenReturn(List.of("https://imdb.com/title/tt0468569"));
+        when(customFields.featured_img_all()).thenReturn(List.of("https://example.com/featured-img.jpg"));
+        Post post = new Post(102, "slug-the-dark-knight", "The Dark Knight", "Batman fights Joker", null, null,
+                null, List.of(), null, customFields, List.of(), 1, true, 1, null);
+        NetzkinoResponse response = new NetzkinoResponse(
+                List.of(), "", "success", 1, 1, 1, 1, List.of(post), "", 0, 0
+        );
+        when(restTemplate.getForEntity(anyString(), eq(NetzkinoResponse.class), anyMap()))
+                .thenReturn(ResponseEntity.ok(response));
+
+        // WHEN
+        List<Movie> movies = movieAPIService.fetchMoviesBySearchQuery(searchQuery);
+
+        // THEN
+        assertEquals(1, movies.size());
+        Movie movie = movies.get(0);
+        assertEquals(EnrichmentStatus.PENDING, movie.enrichment());
+        assertEquals("tt0468569", movie.imdbId());
+        assertEquals("https://example.com/featured-img.jpg", movie.imgImdb());
+        verify(restTemplate, never()).getForEntity(anyString(), eq(TmdbResponse.class), anyMap());
+        verify(movieRepository).saveAll(movies);
+    }
+
+    @Test
+    void fetchMoviesBySearchQuery_ShouldKeepStoredBackdrop_WhenEnrichmentIsDeferred() {
+        // GIVEN
+        movieAPIService = new MovieAPIService(movieRepository, restTemplate, queryRegistry, searchIndex, rateLimiter, concurrencyLimiter, new StageObserver(ObservationRegistry.NOOP), Runnable::run, "dummyTmdbApiKey", "dummyNetzkinoEnv", MovieAPIService.NETZKINO_URL, MovieAPIService.TMDB_BASE_URL, 2, 50, 2, true);
+        String searchQuery = "nolan";
+        when(movieRepository.findByQueriesContaining(searchQuery)).thenReturn(Optional.empty());
+        Movie stored = new Movie("slug-the-dark-knight", 102, "slug-the-dark-knight", "The Dark Knight", "2008",
+                "Batman fights Joker", "Christopher Nolan", "Christian Bale", "img", "img-small",
+                "https://image.tmdb.org/t/p/original/backdrop.jpg", List.of("batman"), List.of());
+        when(movieRepository.findById("slug-the-dark-knight")).thenReturn(Optional.of(stored));
+        CustomFields customFields = mock(CustomFields.class);
+        when(customFields.IMDb_Link()).thenReturn(List.of("https://imdb.com/title/tt0468569"));
+        when(customFields.featured_img_all()).thenReturn(List.of("https://example.com/featured-img.jpg"));
+        Post post = new Post(102, "slug-the-dark-knight", "The Dark Knight", "Batman fights Joker", null, null,
+                null, List.of(), null, customFields, List.of(), 1, true, 1, null);
+        NetzkinoResponse response = new NetzkinoResponse(
+                List.of(), "", "success", 1, 1, 1, 1, List.of(post), "", 0, 0
+        );
+        when(restTemplate.getForEntity(anyString(), eq(NetzkinoResponse.class), anyMap()))
+                .thenReturn(ResponseEntity.ok(response));
+
+        // WHEN
+        List<Movie> movies = movieAPIService.fetchMoviesBySearchQuery(searchQuery);
+
+        // THEN: not put back in the worker's queue, where a failed lookup would delete it
+        assertEquals(1, movies.size());
+        assertEquals(EnrichmentStatus.DONE, movies.get(0).enrichment());
+        assertEquals("https://image.tmdb.org/t/p/original/backdrop.jpg", movies.get(0).imgImdb());
+        verify(restTemplate, never()).getForEntity(anyString(), eq(TmdbResponse.class), anyMap());
+        verify(movieRepository).saveAll(movies);
+    }
+
+    @Test
+    void searchMovies_ShouldReturnPartialResultWithoutStoringIt_WhenDeadlineExpires() {
+        // GIVEN
+        String searchQuery = "nolan";
+        when(movieRepository.findByQueriesContaining(searchQuery)).thenReturn(Optional.empty());
+        CustomFields customFields = mock(CustomFields.class);
+        when(customFields.IMDb_Link()).thenReturn(List.of("https://imdb.com/title/tt0468569"));
+        Post post = new Post(102, "slug-the-dark-knight", "The Dark Knight", "Batman fights Joker", null, null,
+                null, List.of(), null, customFields, List.of(), 1, true, 1, null);
+        NetzkinoResponse response = new NetzkinoResponse(
+                List.of(), "", "success", 1, 1, 1, 1, List.of(post), "", 0, 0
+        );
+        Deadline deadline = Deadline.after(Duration.ofMillis(50));
+        when(restTemplate.getForEntity(anyString(), eq(NetzkinoResponse.class), anyMap())).thenAnswer(invocation -> {
+            // Netzkino alone uses up the budget
+            Thread.sleep(60);
+            return ResponseEntity.ok(response);
+        });
+
+        // WHEN
+        MovieResults results = movieAPIService.searchMovies(searchQuery, deadline);
+
+        // THEN
+        assertTrue(results.partial());
+        assertTrue(results.movies().isEmpty());
+        verify(restTemplate, never()).getForEntity(anyString(), eq(TmdbResponse.class), anyMap());
+        verify(movieRepository, never()).saveAll(anyList());
+        verify(queryRepository, never()).recordUse(anyString(), anyLong(), any());
+
+        // not cached: the next search goes upstream again
+        movieAPIService.searchMovies(searchQuery, Deadline.none());
+        verify(restTemplate, times(2)).getForEntity(anyString(), eq(NetzkinoResponse.class), anyMap());
+    }
+
+    @Test
+    void searchMovies_ShouldShedUpstreamSearchesButNotCachedOnes_WhenConcurrencyLimitIsReached() {
+        // GIVEN
+        Movie cached = new Movie("1", 101, "slug-inception", "Inception", "2010", "overview",
+                "Christopher Nolan", "Leonardo DiCaprio", "img1", "img2", "img3", List.of("inception"), List.of());
+        when(movieRepository.findByQueriesContaining("inception")).thenReturn(Optional.of(List.of(cached)));
+        when(movieRepository.findByQueriesContaining("nolan")).thenReturn(Optional.empty());
+        AdaptiveConcurrencyLimiter.Permit busy = concurrencyLimiter.acquire();
+
+        // WHEN & THEN
+        assertEquals(List.of(cached), movieAPIService.searchMovies("inception", Deadline.none()).movies());
+        assertThrows(ServiceOverloadedException.class, () -> movieAPIService.searchMovies("nolan", Deadline.none()));
+        verifyNoInteractions(restTemplate);
+        verify(rateLimiter, never()).acquire();
+
+        busy.success();
+        assertEquals(0, concurrencyLimiter.getInFlight());
+    }
+
+    @Test
+    void refreshCachedMovie_ShouldReplaceOrDropMovieInCachedResults() {
+        // GIVEN
+        String searchQuery = "Inception";
+        Movie pending = new Movie("1", 101, "slug-inception", "Inception", "2010", "overview",
+                "Christopher Nolan", "Leonardo DiCaprio", "img1", "img2", "img1", List.of(searchQuery), List.of(),
+                "tt1375666", EnrichmentStatus.PENDING);
+        Movie other = new Movie("2", 102, "slug-other", "Other", "2010", "overview",
+                "Someone", "Someone", "img1", "img2", "img3", List.of(searchQuery), List.of());
+        when(movieRepository.findByQueriesContaining(searchQuery)).thenReturn(Optional.of(List.of(pending, other)));
+        movieAPIService.fetchMoviesBySearchQuery(searchQuery);
+        Movie enriched = pending.withBackdrop("backdrop");
+
+        // WHEN
+        movieAPIService.refreshCachedMovie("slug-inception", enriched);
+
+        // THEN
+        assertEquals(List.of(enriched, other), movieAPIService.fetchMoviesBySearchQuery(searchQuery));
+        movieAPIService.refreshCachedMovie("slug-inception", null);
+        assertEquals(List.of(other), movieAPIService.fetchMoviesBySearchQuery(searchQuery));
+        verify(movieRepository, times(1)).findByQueriesContaining(searchQuery);
+    }
+
+    @Test
+    void openSearchStream_ShouldReplayCachedResultsWithoutCharging() {
+        // GIVEN
+        String searchQuery = "Inception";
+        Movie movie = new Movie("1", 101, "slug-inception", "Inception", "2010", "overview",
+                "Christopher Nolan", "Leonardo DiCaprio", "img1", "img2", "img3", List.of(searchQuery), List.of());
+        when(movieRepository.findByQueriesContaining(searchQuery)).thenReturn(Optional.of(List.of(movie)));
+        List<Movie> streamed = new ArrayList<>();
+
+        // WHEN
+        SearchStream.Result result = movieAPIService.openSearchStream(searchQuery).run(streamed::add);
+
+        // THEN
+        assertEquals(List.of(movie), streamed);
+        assertFalse(result.upstream());
+        verify(rateLimiter, never()).acquire();
+    }
+
+    @Test
+    void fetchMoviesBySearchQuery_ShouldAnswerFromLocalIndex_WhenEnoughLocalMatches() {
+        // GIVEN
+        String searchQuery = "nolan";
+        searchIndex.index(new Movie("1", 101, "slug-inception", "Inception", "2010",
+                "A mind-bending thriller", "Christopher Nolan", "Leonardo DiCaprio",
+                "img1", "img2", "img3", List.of("christopher"), List.of()));
+        searchIndex.index(new Movie("2", 102, "slug-the-dark-knight", "The Dark Knight", "2008",
+                "Batman fights Joker", "Christopher Nolan", "Christian Bale",
+                "img1", "img2", "img3", List.of("christopher"), List.of()));
+        when(movieRepository.findByQueriesContaining(searchQuery)).thenReturn(Optional.empty());
+
+        // WHEN
+        List<Movie> movies = movieAPIService.fetchMoviesBySearchQuery(searchQuery);
+
+        // THEN
+        assertEquals(2, movies.size());
+        verify(restTemplate, never()).getForEntity(anyString(), eq(NetzkinoResponse.class), anyMap());
+        verify(movieRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    void fetchMoviesBySearchQuery_ShouldCorrectMisspelledTermsLocally() {
+        // GIVEN
+        String searchQuery = "elja";
+        searchIndex.index(new Movie("1", 101, "slug-elijah-1", "Elijah", "2010",
+                "overview", "Director", "Elijah Wood", "img1", "img2", "img3", List.of(), List.of()));
+        searchIndex.index(new Movie("2", 102, "slug-elijah-2", "Elijah Returns", "2012",
+                "overview", "Director", "Someone", "img1", "img2", "img3", List.of(), List.of()));
+        when(movieRepository.findByQueriesContaining(searchQuery)).thenReturn(Optional.empty());
+
+        // WHEN
+        List<Movie> movies = movieAPIService.fetchMoviesBySearchQuery(searchQuery);
+
+        // THEN
+        assertEquals(2, movies.size());
+        verify(restTemplate, never()).getForEntity(anyString(), eq(NetzkinoResponse.class), anyMap());
+    }
+
+    @Test
+    void fetchMoviesBySearchQuery_ShouldRewriteToNearCachedQuery() {
+        // GIVEN
+        Movie movie = new Movie("1", 101, "slug-christopher", "Some Movie", "2010",
+                "overview", "Director", "Star", "img1", "img2", "img3", List.of("christopher"), List.of());
+        when(movieRepository.findByQueriesContaining("christopher")).thenReturn(Optional.of(List.of(movie)));
+        when(movieRepository.findByQueriesContaining("christophr")).thenReturn(Optional.empty());
+        movieAPIService.fetchMoviesBySearchQuery("christopher");
+
+        // WHEN
+        List<Movie> movies = movieAPIService.fetchMoviesBySearchQuery("christophr");
+
+        // THEN
+        assertEquals(List.of(movie), movies);
+        verify(restTemplate, never()).getForEntity(anyString(), eq(NetzkinoResponse.class), anyMap());
+    }
+
+    @Test
+    void fetchMoviesBySearchQuery_ShouldNotRewriteShortQueryToAnotherName() {
+        // GIVEN
+        Movie movie = new Movie("1", 101, "slug-luca", "Luca", "2021",
+                "overview", "Director", "Star", "img1", "img2", "img3", List.of("luca"), List.of());
+        when(movieRepository.findByQueriesContaining("luca")).thenReturn(Optional.of(List.of(movie)));
+        when(movieRepository.findByQueriesContaining("luna")).thenReturn(Optional.empty());
+        NetzkinoResponse emptyResponse = new NetzkinoResponse(
+                List.of(), "", "success", 0, 0, 0, 0, List.of(), "", 0, 0
+        );
+        when(restTemplate.getForEntity(anyString(), eq(NetzkinoResponse.class), anyMap()))
+                .thenReturn(ResponseEntity.ok(emptyResponse));
+        movieAPIService.fetchMoviesBySearchQuery("luca");
+
+        // WHEN
+        movieAPIService.fetchMoviesBySearchQuery("luna");
+
+        // THEN
+        verify(restTemplate).getForEntity(anyString(), eq(NetzkinoResponse.class), anyMap());
     }
 
     @Test
@@ -203,7 +528,7 @@ class MovieAPIServiceTest {
         NetzkinoResponse emptyResponse = new NetzkinoResponse(
                 List.of(), "", "success", 0,0,0,0, List.of(), "", 0, 0
         );
-        when(restTemplate.getForEntity(anyString(), eq(NetzkinoResponse.class)))
+        when(restTemplate.getForEntity(anyString(), eq(NetzkinoResponse.class), anyMap()))
                 .thenReturn(ResponseEntity.ok(emptyResponse));
 
         // WHEN
@@ -213,7 +538,21 @@ class MovieAPIServiceTest {
         assertTrue(movies.isEmpty(), "Should return empty list when no movies found");
         verify(movieRepository).findByQueriesContaining(searchQuery);
         verify(movieRepository).saveAll(anyList());
-        verify(queryRepository).save(any(Query.class));
+        verify(queryRepository).recordUse(anyString(), anyLong(), any());
+        verify(rateLimiter).acquire();
+    }
+
+    @Test
+    void fetchMoviesBySearchQuery_ShouldNotCallUpstream_WhenRateLimited() {
+        // GIVEN
+        String searchQuery = "Nonexistent";
+        when(movieRepository.findByQueriesContaining(searchQuery)).thenReturn(Optional.empty());
+        doThrow(new RateLimitExceededException("Too many searches", java.time.Duration.ofSeconds(6)))
+                .when(rateLimiter).acquire();
+
+        // WHEN & THEN
+        assertThrows(RateLimitExceededException.class, () -> movieAPIService.fetchMoviesBySearchQuery(searchQuery));
+        verifyNoInteractions(restTemplate);
     }
 
 
@@ -238,7 +577,6 @@ class MovieAPIServiceTest {
         // GIVEN
         LocalDate today = LocalDate.now();
         when(movieRepository.findByDateFetchedContaining(today)).thenReturn(Optional.empty());
-        when(queryRepository.findAll()).thenReturn(List.of());
 
         // Mock Netzkino API response
         CustomFields customFields = new CustomFields(
@@ -316,7 +654,7 @@ class MovieAPIServiceTest {
         );
 
         ResponseEntity<NetzkinoResponse> mockedResponseEntity = ResponseEntity.ok(mockNetzkinoResponse);
-        when(restTemplate.getForEntity(anyString(), eq(NetzkinoResponse.class)))
+        when(restTemplate.getForEntity(anyString(), eq(NetzkinoResponse.class), anyMap()))
                 .thenReturn(mockedResponseEntity);
 
         // Mock TMDB API response
@@ -347,7 +685,7 @@ class MovieAPIServiceTest {
         ResponseEntity<TmdbResponse> tmdbResponseEntity = ResponseEntity.ok(mockTmdbResponse);
 
         // WHEN
-        when(restTemplate.getForEntity(anyString(), eq(TmdbResponse.class)))
+        when(restTemplate.getForEntity(anyString(), eq(TmdbResponse.class), anyMap()))
                 .thenReturn(tmdbResponseEntity);
         List<Movie> movies = movieAPIService.getMoviesOfTheDay(List.of("Inception"));
 
@@ -366,14 +704,49 @@ class MovieAPIServiceTest {
         assertEquals("https://image.tmdb.org/t/p/original/sample-backdrop.jpg", movie.imgImdb());
 
         verify(movieRepository).findByDateFetchedContaining(today);
-        verify(queryRepository).findAll();
         verify(movieRepository).saveAll(anyList());
-        verify(queryRepository).save(any(Query.class));
+        verify(queryRepository).recordUse(anyString(), anyLong(), any());
     }
 
 
 
 
+    @Test
+    void fetchAndStoreMoviesForDay_ShouldStopEnrichingOnceFiveMoviesAreFound() {
+        // GIVEN
+        List<Post> posts = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            CustomFields customFields = mock(CustomFields.class);
+            when(customFields.IMDb_Link()).thenReturn(List.of("https://imdb.com/title/tt000000" + i));
+            posts.add(new Post(i, "slug-" + i, "Title " + i, "Overview", null, null,
+                    null, List.of(), null, customFields, List.of(), 1, true, 1, null));
+        }
+        NetzkinoResponse response = new NetzkinoResponse(
+                List.of(), "", "success", 40, 1, 1, 1, posts, "", 0, 0
+        );
+        when(restTemplate.getForEntity(anyString(), eq(NetzkinoResponse.class), anyMap()))
+                .thenReturn(ResponseEntity.ok(response));
+        TmdbResponse withBackdrop = new TmdbResponse(
+                List.of(new TmdbMovieResult("/backdrop.jpg", 1, "Title", "Title", "Overview", "/poster.jpg",
+                        "movie", false, "en", List.of(), 1.0, "2008-07-18", false, 8.5, 1)),
+                List.of(), List.of(), List.of(), List.of());
+        TmdbResponse withoutBackdrop = new TmdbResponse(List.of(), List.of(), List.of(), List.of(), List.of());
+        // the first two posts have no backdrop, so a second wave of two is needed
+        when(restTemplate.getForEntity(anyString(), eq(TmdbResponse.class), anyMap()))
+                .thenReturn(ResponseEntity.ok(withoutBackdrop), ResponseEntity.ok(withoutBackdrop))
+                .thenReturn(ResponseEntity.ok(withBackdrop));
+
+        // WHEN
+        List<Movie> movies = movieAPIService.fetchAndStoreMoviesForDay("Nolan", List.of(LocalDate.now()));
+
+        // THEN
+        assertEquals(List.of("slug-2", "slug-3", "slug-4", "slug-5", "slug-6"),
+                movies.stream().map(Movie::slug).toList());
+        verify(restTemplate, times(7)).getForEntity(anyString(), eq(TmdbResponse.class), anyMap());
+        verify(restTemplate, times(1)).getForEntity(anyString(), eq(NetzkinoResponse.class), anyMap());
+        verify(movieRepository).saveAll(movies);
+    }
+
     @Test
     void getMoviesOfTheDay_ShouldReturnEmptyList_WhenFetchingFails() {
         // GIVEN
@@ -416,7 +789,7 @@ class MovieAPIServiceTest {
         );
 
         when(movieRepository.findByDateFetchedContaining(today)).thenReturn(Optional.empty());
-        when(restTemplate.getForEntity(anyString(), eq(NetzkinoResponse.class)))
+        when(restTemplate.getForEntity(anyString(), eq(NetzkinoResponse.class), anyMap()))
                 .thenReturn(ResponseEntity.ok(emptyResponse));
 
         // WHEN & THEN
@@ -462,11 +835,32 @@ class MovieAPIServiceTest {
         assertEquals("", imdbId);
     }
 
+    @Test
+    void extractImdbId_ShouldFindIdAnywhereInLink() {
+        assertEquals("tt0045152", movieAPIService.extractImdbId("http://www.imdb.de/title/tt0045152/?ref_=fn_al_tt_1"));
+        assertEquals("tt0133093", movieAPIService.extractImdbId(" https://m.imdb.com/title/tt0133093/reviews "));
+        assertEquals("tt0133093", movieAPIService.extractImdbId("https://www.imdb.com/title/tt0133093?ref=x"));
+        assertEquals("tt0133093", movieAPIService.extractImdbId("tt0133093"));
+    }
+
+    @Test
+    void extractImdbId_ShouldIgnoreTtWithoutDigits() {
+        // the "tt" in "https" and in a path segment without digits is not an id
+        assertEquals("", movieAPIService.extractImdbId("https://www.imdb.com/title/ttnone/"));
+    }
+
+    @Test
+    void extractImdbId_ShouldSkipTtSegmentsWithoutDigits() {
+        // a path segment starting with "tt" is no longer taken whole, the scan goes on to the id
+        assertEquals("tt0133093", movieAPIService.extractImdbId("https://www.imdb.com/ttl/title/tt0133093/"));
+        assertEquals("tt0133093", movieAPIService.extractImdbId("https://www.imdb.com/find?q=tt0133093"));
+    }
+
     @Test
     void fetchMoviePosterFromTmdb_ShouldReturnNA_WhenTmdbApiFails() {
         // GIVEN
         String imdbId = "tt1234567";
-        when(restTemplate.getForEntity(anyString(), eq(TmdbResponse.class))).thenReturn(ResponseEntity.ok(null));
+        when(restTemplate.getForEntity(anyString(), eq(TmdbResponse.class), anyMap())).thenReturn(ResponseEntity.ok(null));
 
         // WHEN
         String result = movieAPIService.fetchMoviePosterFromTmdb(imdbId);
@@ -479,7 +873,7 @@ class MovieAPIServiceTest {
     void fetchMoviePosterFromTmdb_ShouldReturnNA_WhenResponseBodyIsNull() {
         // GIVEN
         String imdbId = "tt1234567";
-        when(restTemplate.getForEntity(anyString(), eq(TmdbResponse.class))).thenReturn(null);
+        when(restTemplate.getForEntity(anyString(), eq(TmdbResponse.class), anyMap())).thenReturn(null);
 
         // WHEN
         String result = movieAPIService.fetchMoviePosterFromTmdb(imdbId);
@@ -492,7 +886,7 @@ class MovieAPIServiceTest {
     void fetchMoviePosterFromTmdb_ShouldHandleNullResponseGracefully() {
         // GIVEN
         String imdbId = "tt1234567";
-        when(restTemplate.getForEntity(anyString(), eq(TmdbResponse.class))).thenReturn(null);
+        when(restTemplate.getForEntity(anyString(), eq(TmdbResponse.class), anyMap())).thenReturn(null);
 
         // WHEN
         String imageUrl = movieAPIService.fetchMoviePosterFromTmdb(imdbId);
@@ -508,7 +902,7 @@ class MovieAPIServiceTest {
         TmdbResponse tmdbResponse = new TmdbResponse(List.of(), List.of(), List.of(), List.of(), List.of());
         ResponseEntity<TmdbResponse> responseEntity = mock(ResponseEntity.class);
         when(responseEntity.getBody()).thenReturn(tmdbResponse);
-        when(restTemplate.getForEntity(anyString(), eq(TmdbResponse.class))).thenReturn(responseEntity);
+        when(restTemplate.getForEntity(anyString(), eq(TmdbResponse.class), anyMap())).thenReturn(responseEntity);
 
         // WHEN
         String imageUrl = movieAPIService.fetchMoviePosterFromTmdb(imdbId);
@@ -517,6 +911,20 @@ class MovieAPIServiceTest {
         assertEquals("N/A", imageUrl);
     }
 
+    @Test
+    void lookupBackdrop_ShouldKeepApiKeyOutOfTheUriTemplate() {
+        // GIVEN
+        when(restTemplate.getForEntity(anyString(), eq(TmdbResponse.class), anyMap())).thenReturn(ResponseEntity.ok(null));
+
+        // WHEN
+        movieAPIService.lookupBackdrop("tt1234567");
+
+        // THEN: metrics and spans are tagged with the template, so it must not contain the key or the id
+        verify(restTemplate).getForEntity(
+                eq(MovieAPIService.TMDB_BASE_URL + "{imdbId}?api_key={apiKey}&language=de&external_source=imdb_id"),
+                eq(TmdbResponse.class), eq(Map.of("imdbId", "tt1234567", "apiKey", "dummyTmdbApiKey")));
+    }
+
     @Test
     void fetchMoviePosterFromTmdb_ShouldHandleNullBackdropPath() {
         // GIVEN
@@ -525,7 +933,7 @@ class MovieAPIServiceTest {
         TmdbResponse tmdbResponse = new TmdbResponse(List.of(movieResult), List.of(), List.of(), List.of(), List.of());
         ResponseEntity<TmdbResponse> responseEntity = mock(ResponseEntity.class);
         when(responseEntity.getBody()).thenReturn(tmdbResponse);
-        when(restTemplate.getForEntity(anyString(), eq(TmdbResponse.class))).thenReturn(responseEntity);
+        when(restTemplate.getForEntity(anyString(), eq(TmdbResponse.class), anyMap())).thenReturn(responseEntity);
 
         // WHEN
         String imageUrl = movieAPIService.fetchMoviePosterFromTmdb(imdbId);
@@ -543,6 +951,7 @@ class MovieAPIServiceTest {
 
         when(queryRepository.findAll()).thenReturn(List.of(existingQuery));
         when(movieRepository.findByQueriesContaining(query)).thenReturn(Optional.of(List.of(movie)));
+        queryRegistry.afterPropertiesSet();
 
         // WHEN
         List<Movie> movies = movieAPIService.getMoviesOfTheDay(List.of(query));
@@ -550,14 +959,30 @@ class MovieAPIServiceTest {
         // THEN
         assertEquals(1, movies.size());
         assertEquals(movie, movies.get(0));
-        verify(queryRepository).findAll();
+        verify(queryRepository, times(1)).findAll();
         verify(movieRepository).findByQueriesContaining(query);
     }
 
-}
-
-
-
+    @Test
+    void preloadCaches_ShouldKeepResultsCachedWhileItRan() {
+        // GIVEN
+        String query = "Inception";
+        Movie stored = new Movie("1", 100, "slug", "title", "2010", "overview", "Christopher Nolan", "Leonardo DiCaprio", "img1", "img2", "img3", List.of(query), List.of(LocalDate.now()));
+        Movie fresher = new Movie("2", 101, "slug-2", "title 2", "2011", "overview", "Christopher Nolan", "Leonardo DiCaprio", "img1", "img2", "img3", List.of(query), List.of(LocalDate.now()));
+        when(queryRepository.findAll()).thenReturn(List.of(new Query(query)));
+        queryRegistry.afterPropertiesSet();
+        when(movieRepository.findByQueriesContaining(query)).thenReturn(Optional.of(List.of(fresher)));
+        movieAPIService.fetchMoviesBySearchQuery(query);
+        when(movieRepository.findByQueriesContaining(query)).thenReturn(Optional.of(List.of(stored)));
+        when(movieRepository.findByDateFetchedContaining(LocalDate.now())).thenReturn(Optional.of(List.of(stored)));
 
+        // WHEN
+        movieAPIService.preloadCaches();
 
+        // THEN
+        assertEquals(List.of(fresher), movieAPIService.fetchMoviesBySearchQuery(query));
+        assertEquals(1, movieAPIService.searchCacheSize());
+        assertEquals(1, movieAPIService.dailyCacheSize());
+    }
 
+}
@@ -1,17 +1,21 @@
 
 package org.example.backend.service;
 
+import org.example.backend.dtos.MovieSummary;
 import org.example.backend.exceptions.DatabaseException;
 import org.example.backend.model.Movie;
 import org.example.backend.repo.MovieRepo;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.web.client.RestTemplate;
 
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -21,13 +25,15 @@ class MovieServiceTest {
 
     private MovieRepo repo;
     private RestTemplate restTemplate;
+    private CacheManager cacheManager;
     private MovieService movieService;
 
     @BeforeEach
     void setUp() {
         repo = mock(MovieRepo.class);
         restTemplate = mock(RestTemplate.class);
-        movieService = new MovieService(repo, restTemplate, "dummyTmdbApiKey", "dummyNetzkinoEnv");
+        cacheManager = new ConcurrentMapCacheManager("movies");
+        movieService = new MovieService(repo, restTemplate, cacheManager, "dummyTmdbApiKey", "dummyNetzkinoEnv");
     }
 
     @Test
@@ -237,6 +243,59 @@ class MovieServiceTest {
         verify(repo).existsBySlug(slug);
         verify(repo, never()).deleteBySlug(any());
     }
+
+    @Test
+    void getMoviesBySlugs_ShouldKeepOrderAndOnlyQueryCacheMisses() {
+        // GIVEN
+        Movie cached = movie("slug-a", "A");
+        Movie b = movie("slug-b", "B");
+        Movie c = movie("slug-c", "C");
+        cacheManager.getCache("movies").put("slug-a", cached);
+        when(repo.findBySlugIn(anyCollection())).thenReturn(List.of(c, b));
+
+        // WHEN
+        List<Movie> result = movieService.getMoviesBySlugs(List.of("slug-b", "slug-a", "slug-gone", "slug-c"));
+
+        // THEN
+        assertEquals(List.of(b, cached, c), result);
+        verify(repo).findBySlugIn(Set.of("slug-b", "slug-gone", "slug-c"));
+        assertEquals(b, cacheManager.getCache("movies").get("slug-b", Movie.class));
+    }
+
+    @Test
+    void getMoviesBySlugs_ShouldNotQuery_WhenAllCached() {
+        // GIVEN
+        Movie a = movie("slug-a", "A");
+        cacheManager.getCache("movies").put("slug-a", a);
+
+        // WHEN
+        List<Movie> result = movieService.getMoviesBySlugs(List.of("slug-a"));
+
+        // THEN
+        assertEquals(List.of(a), result);
+        verify(repo, never()).findBySlugIn(anyCollection());
+    }
+
+    @Test
+    void getMovieSummariesBySlugs_ShouldProjectCacheMisses() {
+        // GIVEN
+        cacheManager.getCache("movies").put("slug-a", movie("slug-a", "A"));
+        MovieSummary b = new MovieSummary("slug-b", "B", "2010", "small-b", "imdb-b");
+        when(repo.findBySlugIn(anyCollection(), eq(MovieSummary.class))).thenReturn(List.of(b));
+
+        // WHEN
+        List<MovieSummary> result = movieService.getMovieSummariesBySlugs(List.of("slug-b", "slug-a"));
+
+        // THEN
+        assertEquals(List.of("slug-b", "slug-a"), result.stream().map(MovieSummary::slug).toList());
+        assertEquals("A", result.get(1).title());
+        assertNull(cacheManager.getCache("movies").get("slug-b"));
+    }
+
+    private static Movie movie(String slug, String title) {
+        return new Movie(null, 1, slug, title, "2010", "overview", "director", "stars",
+                "img", "small", "imdb", List.of(), List.of());
+    }
 //
 //    @Test
 //    void fetchAndStoreMovies_ShouldReturnMovies_whenApiReturnsResults() {
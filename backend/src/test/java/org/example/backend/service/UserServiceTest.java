@@ -0,0 +1,52 @@
+package org.example.backend.service;
+
+import org.example.backend.repo.UserRepo;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class UserServiceTest {
+
+    private UserRepo userRepo;
+    private UserService userService;
+
+    @BeforeEach
+    void setUp() {
+        userRepo = mock(UserRepo.class);
+        userService = new UserService(userRepo);
+    }
+
+    @Test
+    void register_ShouldUpsertAndReturnGithubId() {
+        // GIVEN
+        when(userRepo.registerIfAbsent("12345", "testUser")).thenReturn(true);
+
+        // WHEN
+        String result = userService.register("12345", "testUser");
+
+        // THEN
+        assertEquals("12345", result);
+        verify(userRepo).registerIfAbsent("12345", "testUser");
+        verify(userRepo, never()).save(any());
+    }
+
+    @Test
+    void register_ShouldReturnGithubId_WhenUserAlreadyExists() {
+        // GIVEN
+        when(userRepo.registerIfAbsent("12345", "testUser")).thenReturn(false);
+
+        // WHEN & THEN
+        assertEquals("12345", userService.register("12345", "testUser"));
+    }
+
+    @Test
+    void afterPropertiesSet_ShouldNotFailStartup_WhenIndexCannotBeCreated() {
+        // GIVEN
+        doThrow(new IllegalStateException("duplicate key")).when(userRepo).ensureUniqueGithubIdIndex();
+
+        // WHEN & THEN
+        assertDoesNotThrow(() -> userService.afterPropertiesSet());
+    }
+}
@@ -1,5 +1,6 @@
 package org.example.backend.service;
 
+import org.example.backend.exceptions.UserNotFoundException;
 import org.example.backend.model.User;
 import org.example.backend.repo.UserRepo;
 import org.junit.jupiter.api.BeforeEach;
@@ -7,6 +8,7 @@ import org.junit.jupiter.api.Test;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -142,4 +144,56 @@ class WatchlistServiceTest {
         // THEN
         verify(userRepo, never()).save(any(User.class)); // No save should happen
     }
+
+    @Test
+    void getWatchlistSlugs_ShouldReturnFavoritesInOrder() {
+        // GIVEN
+        User projected = new User(null, TEST_GITHUB_ID, null, List.of("b", "a"));
+        when(userRepo.findFavoritesByGithubId(TEST_GITHUB_ID)).thenReturn(Optional.of(projected));
+
+        // WHEN
+        List<String> result = watchlistService.getWatchlistSlugs(TEST_GITHUB_ID);
+
+        // THEN
+        assertEquals(List.of("b", "a"), result);
+        verify(userRepo, never()).findByGithubId(any());
+    }
+
+    @Test
+    void getWatchlistSlugs_ShouldThrow_WhenUserNotFound() {
+        // GIVEN
+        when(userRepo.findFavoritesByGithubId(TEST_GITHUB_ID)).thenReturn(Optional.empty());
+
+        // WHEN / THEN
+        assertThrows(UserNotFoundException.class, () -> watchlistService.getWatchlistSlugs(TEST_GITHUB_ID));
+    }
+
+    @Test
+    void areMoviesInWatchlist_ShouldAnswerAllSlugsWithOneRead() {
+        // GIVEN
+        User projected = new User(null, TEST_GITHUB_ID, null, List.of("a", "c"));
+        when(userRepo.findFavoritesByGithubId(TEST_GITHUB_ID)).thenReturn(Optional.of(projected));
+
+        // WHEN
+        Map<String, Boolean> result = watchlistService.areMoviesInWatchlist(TEST_GITHUB_ID, List.of("a", "b", "c"));
+
+        // THEN
+        assertEquals(List.of("a", "b", "c"), List.copyOf(result.keySet()));
+        assertTrue(result.get("a"));
+        assertFalse(result.get("b"));
+        assertTrue(result.get("c"));
+        verify(userRepo, times(1)).findFavoritesByGithubId(TEST_GITHUB_ID);
+    }
+
+    @Test
+    void areMoviesInWatchlist_ShouldReturnAllFalse_WhenUserNotFound() {
+        // GIVEN
+        when(userRepo.findFavoritesByGithubId(TEST_GITHUB_ID)).thenReturn(Optional.empty());
+
+        // WHEN
+        Map<String, Boolean> result = watchlistService.areMoviesInWatchlist(TEST_GITHUB_ID, List.of("a", "b"));
+
+        // THEN
+        assertEquals(Map.of("a", false, "b", false), result);
+    }
 }
@@ -0,0 +1,89 @@
+package org.example.backend.warmup;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+class WarmupRunnerTest {
+
+    private WarmupWorkload workload;
+    private SimpleMeterRegistry meterRegistry;
+    private AtomicLong compilationMillis;
+
+    @BeforeEach
+    void setUp() {
+        workload = mock(WarmupWorkload.class);
+        meterRegistry = new SimpleMeterRegistry();
+        compilationMillis = new AtomicLong();
+    }
+
+    @Test
+    void run_ShouldStopOnceCompilationSettles() throws Exception {
+        // GIVEN: the JIT keeps compiling through the first four rounds
+        AtomicLong iterations = new AtomicLong();
+        doAnswer(invocation -> {
+            if (iterations.incrementAndGet() <= 40) {
+                compilationMillis.addAndGet(1_000);
+            }
+            return null;
+        }).when(workload).runOnce(anyInt());
+        WarmupRunner runner = new WarmupRunner(workload, meterRegistry, compilationMillis::get, Duration.ofMinutes(1), 10, 0.02);
+
+        // WHEN
+        runner.run(null);
+
+        // THEN
+        verify(workload).prepare();
+        assertEquals(5, runner.result().rounds());
+        verify(workload, times(50)).runOnce(anyInt());
+        assertEquals(5, meterRegistry.get("movies.warmup.rounds").gauge().value());
+        assertEquals(40, meterRegistry.get("movies.warmup.compilation").timeGauge().value(TimeUnit.SECONDS));
+        assertTrue(meterRegistry.get("movies.warmup.round.duration").tag("round", "last").timeGauge().value() > 0);
+    }
+
+    @Test
+    void run_ShouldRunAtLeastTheMinimumRounds() throws Exception {
+        // GIVEN
+        WarmupRunner runner = new WarmupRunner(workload, meterRegistry, compilationMillis::get, Duration.ofMinutes(1), 10, 0.02);
+
+        // WHEN
+        runner.run(null);
+
+        // THEN
+        assertEquals(WarmupRunner.MIN_ROUNDS, runner.result().rounds());
+        verify(workload, times(WarmupRunner.MIN_ROUNDS * 10)).runOnce(anyInt());
+    }
+
+    @Test
+    void run_ShouldNotFailStartup_WhenWorkloadFails() throws Exception {
+        // GIVEN
+        doThrow(new IOException("bad payload")).when(workload).runOnce(anyInt());
+        WarmupRunner runner = new WarmupRunner(workload, meterRegistry, compilationMillis::get, Duration.ofMinutes(1), 10, 0.02);
+
+        // WHEN
+        assertDoesNotThrow(() -> runner.run(null));
+
+        // THEN
+        assertEquals(0, runner.result().rounds());
+        assertTrue(meterRegistry.get("movies.warmup.duration").timeGauge().value() >= 0);
+    }
+
+    @Test
+    void gauges_ShouldBeEmptyBeforeTheWarmupRan() {
+        // WHEN
+        new WarmupRunner(workload, meterRegistry, compilationMillis::get, Duration.ofMinutes(1), 10, 0.02);
+
+        // THEN
+        assertTrue(Double.isNaN(meterRegistry.get("movies.warmup.duration").timeGauge().value()));
+        assertTrue(Double.isNaN(meterRegistry.get("movies.warmup.rounds").gauge().value()));
+    }
+}
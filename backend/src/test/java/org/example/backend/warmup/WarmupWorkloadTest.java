@@ -0,0 +1,54 @@
+package org.example.backend.warmup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.backend.replay.ResponseArchive;
+import org.example.backend.service.MovieAPIService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class WarmupWorkloadTest {
+
+    @TempDir
+    Path archiveDir;
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    @Test
+    void runOnce_ShouldExerciseSyntheticAndRecordedPayloads() throws Exception {
+        // GIVEN
+        ResponseArchive archive = new ResponseArchive(archiveDir, Set.of("api_key"));
+        archive.save(new ResponseArchive.Entry("GET https://netzkino.example/capi/search?q=berlin", 200,
+                "application/json", 10, Instant.now(), payload("netzkino-search.json")));
+        archive.save(new ResponseArchive.Entry("GET https://tmdb.example/3/find/tt0301357?external_source=imdb_id", 200,
+                "application/json", 10, Instant.now(), payload("tmdb-find.json")));
+        // no repository and no RestTemplate: a Mongo or upstream call would fail the test
+        MovieAPIService movieAPIService = spy(new MovieAPIService(null, null, null, null, null, null, null, Runnable::run,
+                "tmdb-key", "netzkino-env", MovieAPIService.NETZKINO_URL, MovieAPIService.TMDB_BASE_URL, 5, 50, 2, false));
+        WarmupWorkload workload = new WarmupWorkload(objectMapper, movieAPIService, archive, new MockEnvironment());
+
+        // WHEN
+        workload.prepare();
+        for (int i = 0; i < 4; i++) {
+            workload.runOnce(i);
+        }
+
+        // THEN: the synthetic posts once for the index and twice more, the 35 recorded posts with an IMDb id twice
+        verify(movieAPIService, times(3 * 40 + 2 * 35)).formatMovieData(any(), any(), any(), any());
+    }
+
+    private static byte[] payload(String name) throws Exception {
+        try (InputStream in = WarmupWorkloadTest.class.getResourceAsStream("/payloads/" + name)) {
+            return in.readAllBytes();
+        }
+    }
+}
@@ -11,4 +11,6 @@ export interface IMovie {
     imgImdb: string;
     queries: string[];
     dateFetched?: string[];
+    imdbId?: string;
+    enrichment?: "PENDING" | "DONE";
 }